@@ -0,0 +1,110 @@
+package com.ordersystem.application.service;
+
+import com.ordersystem.api.dto.response.OrderResponse;
+import com.ordersystem.api.dto.response.PaymentResponse;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.model.OrderItem;
+import com.ordersystem.domain.model.OrderStateHistory;
+import com.ordersystem.domain.model.Payment;
+import com.ordersystem.domain.model.PaymentTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del mapeo de entidades a DTOs de respuesta (cadenas de builders de OrderService y PaymentService)
+ *
+ * El mapeo de entidades es estático: se mide sin instanciar los servicios ni sus dependencias
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int itemCount;
+
+    @Param({"1", "4", "16"})
+    private int historyCount;
+
+    private Order order;
+    private Payment payment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Customer customer = Customer.builder()
+            .id(1L)
+            .name("Cliente Benchmark")
+            .email("benchmark@test.com")
+            .build();
+
+        order = Order.builder()
+            .id(1L)
+            .customer(customer)
+            .status(OrderStatus.CONFIRMED)
+            .build();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = OrderItem.builder()
+                .id((long) i)
+                .productName("Producto " + i)
+                .quantity(1 + i % 5)
+                .unitPrice(BigDecimal.valueOf(1999 + i, 2))
+                .build();
+            order.addItem(item);
+        }
+        for (int i = 0; i < historyCount; i++) {
+            order.addStateHistory(OrderStateHistory.builder()
+                .id((long) i)
+                .previousStatus(OrderStatus.CREATED)
+                .newStatus(OrderStatus.CONFIRMED)
+                .timestamp(LocalDateTime.now())
+                .notes("Orden confirmada")
+                .build());
+        }
+
+        payment = Payment.builder()
+            .id(1L)
+            .order(order)
+            .amount(BigDecimal.TEN)
+            .status(PaymentStatus.PENDING)
+            .build();
+        for (int i = 0; i < historyCount; i++) {
+            payment.addTransaction(PaymentTransaction.builder()
+                .id((long) i)
+                .previousStatus(PaymentStatus.PENDING)
+                .newStatus(PaymentStatus.PENDING)
+                .timestamp(LocalDateTime.now())
+                .notes("Pago creado")
+                .build());
+        }
+    }
+
+    @Benchmark
+    public OrderResponse mapOrderToResponse() {
+        return OrderService.mapToResponse(order);
+    }
+
+    @Benchmark
+    public PaymentResponse mapPaymentToResponse() {
+        return PaymentService.mapToResponse(payment);
+    }
+}
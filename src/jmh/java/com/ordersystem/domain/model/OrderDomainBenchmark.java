@@ -0,0 +1,126 @@
+package com.ordersystem.domain.model;
+
+import com.ordersystem.domain.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las operaciones de la entidad Order que se ejecutan en cada request
+ *
+ * - addItems: construcción de una orden; addItem recalcula el total sobre todos los ítems
+ * - calculateTotalAmount: suma de subtotales (una multiplicación BigDecimal por ítem)
+ * - stateTransitions: confirm -> markAsPaid -> markAsShipped sobre un historial previo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDomainBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int itemCount;
+
+    @Param({"0", "10", "100"})
+    private int historyCount;
+
+    private Customer customer;
+    private List<OrderItem> items;
+    private Order populatedOrder;
+    private Order createdOrder;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        customer = Customer.builder()
+            .id(1L)
+            .name("Cliente Benchmark")
+            .email("benchmark@test.com")
+            .build();
+
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItem.builder()
+                .productName("Producto " + i)
+                .quantity(1 + i % 5)
+                .unitPrice(BigDecimal.valueOf(1999 + i, 2))
+                .build());
+        }
+
+        populatedOrder = Order.builder().customer(customer).build();
+        items.forEach(item -> populatedOrder.addItem(OrderItem.builder()
+            .productName(item.getProductName())
+            .quantity(item.getQuantity())
+            .unitPrice(item.getUnitPrice())
+            .build()));
+    }
+
+    /**
+     * Cada invocación necesita una orden nueva en CREATED con el historial previo indicado
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        createdOrder = Order.builder()
+            .customer(customer)
+            .status(OrderStatus.CREATED)
+            .totalAmount(BigDecimal.TEN)
+            .build();
+        for (int i = 0; i < historyCount; i++) {
+            createdOrder.addStateHistory(OrderStateHistory.builder()
+                .previousStatus(OrderStatus.CREATED)
+                .newStatus(OrderStatus.CREATED)
+                .notes("Historial previo")
+                .build());
+        }
+    }
+
+    @Benchmark
+    public Order addItems() {
+        Order order = Order.builder().customer(customer).build();
+        for (OrderItem item : items) {
+            order.addItem(OrderItem.builder()
+                .productName(item.getProductName())
+                .quantity(item.getQuantity())
+                .unitPrice(item.getUnitPrice())
+                .build());
+        }
+        return order;
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        populatedOrder.calculateTotalAmount();
+        return populatedOrder.getTotalAmount();
+    }
+
+    @Benchmark
+    public void itemSubtotals(Blackhole blackhole) {
+        for (OrderItem item : populatedOrder.getItems()) {
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+
+    @Benchmark
+    public Order stateTransitions() {
+        createdOrder.confirm();
+        createdOrder.markAsPaid();
+        createdOrder.markAsShipped();
+        return createdOrder;
+    }
+}
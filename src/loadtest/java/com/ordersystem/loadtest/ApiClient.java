@@ -0,0 +1,87 @@
+package com.ordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP de la API que mide cada llamada y la registra bajo una etiqueta de endpoint
+ */
+public class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    public ApiClient(String baseUrl, LatencyRecorder recorder) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.objectMapper = new ObjectMapper();
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public JsonNode post(String endpoint, String path, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                : HttpRequest.BodyPublishers.noBody();
+            return send(endpoint, request(path).header("Content-Type", "application/json").POST(publisher).build());
+        } catch (IOException ex) {
+            throw new FlowFailedException(endpoint, ex.getMessage());
+        }
+    }
+
+    public JsonNode get(String endpoint, String path) {
+        return send(endpoint, request(path).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException ex) {
+            recorder.record(endpoint, (System.nanoTime() - start) / 1000, false);
+            throw new FlowFailedException(endpoint, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FlowFailedException(endpoint, "interrumpido");
+        }
+        long latencyMicros = (System.nanoTime() - start) / 1000;
+
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, latencyMicros, success);
+        if (!success) {
+            throw new FlowFailedException(endpoint, "HTTP " + response.statusCode() + ": " + new String(response.body()));
+        }
+
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException ex) {
+            throw new FlowFailedException(endpoint, "respuesta no es JSON: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Error que interrumpe el flujo en curso; el cliente continúa con el siguiente
+     */
+    public static class FlowFailedException extends RuntimeException {
+        public FlowFailedException(String endpoint, String message) {
+            super(endpoint + " -> " + message);
+        }
+    }
+}
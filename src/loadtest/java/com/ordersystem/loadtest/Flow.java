@@ -0,0 +1,15 @@
+package com.ordersystem.loadtest;
+
+/**
+ * Flujos de negocio que componen la mezcla de tráfico de la prueba de carga
+ */
+public enum Flow {
+    /** create -> confirm -> pay (un pago por el total) -> approve -> ship */
+    FULL,
+    /** create -> confirm -> dos pagos parciales -> approve x2 -> ship */
+    PARTIAL,
+    /** create -> cancel */
+    CANCEL,
+    /** consultas sobre órdenes ya creadas: detalle, resumen de pagos y listado por cliente */
+    READ
+}
@@ -0,0 +1,78 @@
+package com.ordersystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registra la latencia de cada llamada en un histograma HdrHistogram por endpoint (en microsegundos)
+ *
+ * Durante el calentamiento no se registra nada; {@link #startRecording()} marca el inicio de la medición
+ */
+public class LatencyRecorder {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long recordingStartNanos;
+
+    public void startRecording() {
+        stats.clear();
+        recordingStartNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void record(String endpoint, long latencyMicros, boolean success) {
+        if (!recording) {
+            return;
+        }
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        endpointStats.histogram.recordValue(Math.max(latencyMicros, 1));
+        if (!success) {
+            endpointStats.errors.increment();
+        }
+    }
+
+    /**
+     * Imprime throughput y percentiles por endpoint y guarda la distribución completa de cada uno en un .hgrm
+     */
+    public void report(PrintStream out, Path outputDir) throws IOException {
+        double elapsedSeconds = (System.nanoTime() - recordingStartNanos) / 1_000_000_000.0;
+        Files.createDirectories(outputDir);
+
+        out.printf("%n%-42s %9s %7s %10s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            Histogram histogram = entry.getValue().histogram.copy();
+            out.printf("%-42s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(),
+                histogram.getTotalCount(),
+                entry.getValue().errors.sum(),
+                histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50.0) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.0) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+
+            Path file = outputDir.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+            }
+        }
+        out.printf("%nDuración medida: %.1f s. Distribuciones (ms) en %s%n", elapsedSeconds, outputDir.toAbsolutePath());
+    }
+
+    private static class EndpointStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
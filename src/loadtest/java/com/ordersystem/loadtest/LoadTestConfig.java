@@ -0,0 +1,79 @@
+package com.ordersystem.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de la prueba de carga, leída de argumentos {@code clave=valor}
+ *
+ * - baseUrl: URL de una instancia ya levantada; si se omite se levanta la aplicación en este proceso
+ * - database: h2 (por defecto) o postgres (H2 en modo compatibilidad PostgreSQL)
+ * - threads: platform (por defecto) o virtual (hilos virtuales, requiere Java 21)
+ * - clients: cantidad de clientes concurrentes
+ * - duration / warmup: segundos de medición y de calentamiento
+ * - customers: clientes sembrados antes de empezar
+ * - items: ítems por orden
+ * - mix: pesos de cada flujo, por ejemplo {@code full=50,partial=20,cancel=10,read=20}
+ * - output: directorio de los histogramas (.hgrm)
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+
+    String baseUrl;
+    String database;
+    String threads;
+    int clients;
+    int durationSeconds;
+    int warmupSeconds;
+    int customers;
+    int itemsPerOrder;
+    Map<Flow, Integer> mix;
+    String outputDir;
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera clave=valor): " + arg);
+            }
+            values.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+
+        return LoadTestConfig.builder()
+            .baseUrl(values.get("baseUrl"))
+            .database(values.getOrDefault("database", "h2"))
+            .threads(values.getOrDefault("threads", "platform"))
+            .clients(Integer.parseInt(values.getOrDefault("clients", "32")))
+            .durationSeconds(Integer.parseInt(values.getOrDefault("duration", "60")))
+            .warmupSeconds(Integer.parseInt(values.getOrDefault("warmup", "10")))
+            .customers(Integer.parseInt(values.getOrDefault("customers", "100")))
+            .itemsPerOrder(Integer.parseInt(values.getOrDefault("items", "3")))
+            .mix(parseMix(values.getOrDefault("mix", "full=50,partial=20,cancel=10,read=20")))
+            .outputDir(values.getOrDefault("output", "target/loadtest"))
+            .build();
+    }
+
+    private static Map<Flow, Integer> parseMix(String mix) {
+        Map<Flow, Integer> weights = new EnumMap<>(Flow.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Peso de flujo inválido: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Flow.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos un flujo con peso mayor a 0");
+        }
+        return weights;
+    }
+}
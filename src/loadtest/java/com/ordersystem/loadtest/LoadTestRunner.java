@@ -0,0 +1,222 @@
+package com.ordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ordersystem.OrderManagementSystemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga de la API REST
+ *
+ * Levanta la aplicación en este proceso (salvo que se indique {@code baseUrl}), siembra clientes y ejecuta
+ * desde varios clientes concurrentes una mezcla configurable de flujos de negocio. Al terminar imprime
+ * throughput y percentiles p50/p99/p999 por endpoint y guarda los histogramas en formato .hgrm.
+ *
+ * Ejecutar con: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="clients=64 duration=120"
+ */
+public class LoadTestRunner {
+
+    private static final int RECENT_ORDERS = 1024;
+
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ApiClient client;
+    private final List<Long> customerIds = new ArrayList<>();
+    private final AtomicLongArray recentOrderIds = new AtomicLongArray(RECENT_ORDERS);
+    private final AtomicInteger recentOrderCursor = new AtomicInteger();
+    private final LongAdder completedFlows = new LongAdder();
+    private final LongAdder failedFlows = new LongAdder();
+    private final Flow[] flowTable;
+
+    public LoadTestRunner(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.client = new ApiClient(baseUrl, recorder);
+        this.flowTable = buildFlowTable(config.getMix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.getBaseUrl();
+        if (baseUrl == null) {
+            context = startApplication(config);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        try {
+            new LoadTestRunner(config, baseUrl).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        String datasourceUrl = switch (config.getDatabase()) {
+            case "h2" -> "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1";
+            case "postgres" -> "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+            default -> throw new IllegalArgumentException("Base de datos no soportada: " + config.getDatabase());
+        };
+
+        boolean virtualThreads = switch (config.getThreads()) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Modo de hilos no soportado: " + config.getThreads());
+        };
+
+        System.out.printf("Levantando la aplicación sobre %s (hilos %s)%n", datasourceUrl, config.getThreads());
+        return SpringApplication.run(OrderManagementSystemApplication.class,
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--spring.datasource.url=" + datasourceUrl,
+            "--spring.jpa.show-sql=false",
+            "--spring.h2.console.enabled=false",
+            "--logging.level.root=WARN");
+    }
+
+    public void run() throws Exception {
+        seedCustomers();
+
+        System.out.printf("Ejecutando %d clientes: %ds de calentamiento + %ds de medición, mezcla %s%n",
+            config.getClients(), config.getWarmupSeconds(), config.getDurationSeconds(), config.getMix());
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getClients());
+        for (int i = 0; i < config.getClients(); i++) {
+            executor.submit(() -> runClient(end));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        completedFlows.reset();
+        failedFlows.reset();
+        recorder.startRecording();
+
+        executor.shutdown();
+        executor.awaitTermination(config.getDurationSeconds() + 60L, TimeUnit.SECONDS);
+
+        recorder.report(System.out, Path.of(config.getOutputDir()));
+        System.out.printf("Flujos completados: %d (%.1f/s), flujos con error: %d%n",
+            completedFlows.sum(), completedFlows.sum() / (double) config.getDurationSeconds(), failedFlows.sum());
+    }
+
+    private void seedCustomers() {
+        long suffix = System.currentTimeMillis();
+        for (int i = 0; i < config.getCustomers(); i++) {
+            JsonNode customer = client.post("POST /api/customers", "/api/customers", Map.of(
+                "name", "Cliente carga " + i,
+                "email", "carga-" + suffix + "-" + i + "@loadtest.com"));
+            customerIds.add(customer.get("id").asLong());
+        }
+    }
+
+    private void runClient(long end) {
+        while (System.nanoTime() < end) {
+            Flow flow = flowTable[ThreadLocalRandom.current().nextInt(flowTable.length)];
+            try {
+                switch (flow) {
+                    case FULL -> fullPaymentFlow();
+                    case PARTIAL -> partialPaymentFlow();
+                    case CANCEL -> cancelFlow();
+                    case READ -> readFlow();
+                }
+                completedFlows.increment();
+            } catch (ApiClient.FlowFailedException ex) {
+                failedFlows.increment();
+            }
+        }
+    }
+
+    private void fullPaymentFlow() {
+        JsonNode order = createOrder();
+        long orderId = order.get("id").asLong();
+        client.post("POST /api/orders/{id}/confirm", "/api/orders/" + orderId + "/confirm", null);
+        pay(orderId, order.get("totalAmount").decimalValue());
+        client.post("POST /api/orders/{id}/ship", "/api/orders/" + orderId + "/ship", null);
+    }
+
+    private void partialPaymentFlow() {
+        JsonNode order = createOrder();
+        long orderId = order.get("id").asLong();
+        client.post("POST /api/orders/{id}/confirm", "/api/orders/" + orderId + "/confirm", null);
+        BigDecimal total = order.get("totalAmount").decimalValue();
+        BigDecimal first = total.divide(BigDecimal.valueOf(2), 2, RoundingMode.DOWN);
+        pay(orderId, first);
+        pay(orderId, total.subtract(first));
+        client.post("POST /api/orders/{id}/ship", "/api/orders/" + orderId + "/ship", null);
+    }
+
+    private void cancelFlow() {
+        long orderId = createOrder().get("id").asLong();
+        client.post("POST /api/orders/{id}/cancel", "/api/orders/" + orderId + "/cancel", null);
+    }
+
+    private void readFlow() {
+        long orderId = recentOrderIds.get(ThreadLocalRandom.current().nextInt(RECENT_ORDERS));
+        if (orderId == 0) {
+            createOrder();
+            return;
+        }
+        client.get("GET /api/orders/{id}", "/api/orders/" + orderId);
+        client.get("GET /api/payments/order/{id}/summary", "/api/payments/order/" + orderId + "/summary");
+        client.get("GET /api/orders/customer/{id}", "/api/orders/customer/" + randomCustomer() + "?size=20");
+    }
+
+    private JsonNode createOrder() {
+        List<Map<String, Object>> items = new ArrayList<>(config.getItemsPerOrder());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < config.getItemsPerOrder(); i++) {
+            items.add(Map.of(
+                "productName", "Producto " + random.nextInt(1000),
+                "quantity", 1 + random.nextInt(5),
+                "unitPrice", BigDecimal.valueOf(100 + random.nextInt(10_000), 2)));
+        }
+
+        JsonNode order = client.post("POST /api/orders", "/api/orders",
+            Map.of("customerId", randomCustomer(), "items", items));
+        recentOrderIds.set(Math.floorMod(recentOrderCursor.getAndIncrement(), RECENT_ORDERS), order.get("id").asLong());
+        return order;
+    }
+
+    private void pay(long orderId, BigDecimal amount) {
+        JsonNode payment = client.post("POST /api/payments", "/api/payments",
+            Map.of("orderId", orderId, "amount", amount));
+        client.post("POST /api/payments/{id}/approve", "/api/payments/" + payment.get("id").asLong() + "/approve", null);
+    }
+
+    private long randomCustomer() {
+        return customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+    }
+
+    /**
+     * Tabla de selección ponderada: cada flujo aparece tantas veces como su peso
+     */
+    private static Flow[] buildFlowTable(Map<Flow, Integer> mix) {
+        List<Flow> table = new ArrayList<>();
+        mix.forEach((flow, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(flow);
+            }
+        });
+        return table.toArray(new Flow[0]);
+    }
+}
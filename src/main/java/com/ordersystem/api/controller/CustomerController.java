@@ -1,20 +1,28 @@
 package com.ordersystem.api.controller;
 
 import com.ordersystem.api.dto.request.CreateCustomerRequest;
+import com.ordersystem.api.dto.response.CustomerImportResponse;
 import com.ordersystem.api.dto.response.CustomerResponse;
+import com.ordersystem.application.service.CustomerImportService;
 import com.ordersystem.application.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     @PostMapping
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
@@ -22,6 +30,18 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Importa clientes desde un CSV (encabezado con name y email) o NDJSON, leído a medida que llega
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<CustomerImportResponse> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        CustomerImportService.Format format = CustomerImportService.Format.from(MediaType.parseMediaType(contentType));
+        CustomerImportResponse response = customerImportService.importCustomers(body, format);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
         CustomerResponse response = customerService.getCustomerById(id);
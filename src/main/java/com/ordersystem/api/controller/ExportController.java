@@ -0,0 +1,82 @@
+package com.ordersystem.api.controller;
+
+import com.ordersystem.application.export.ExportFilter;
+import com.ordersystem.application.export.ExportFormat;
+import com.ordersystem.application.export.ExportService;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.enums.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportaciones completas para conciliación, en NDJSON o CSV y opcionalmente comprimidas con gzip
+ *
+ * La respuesta se escribe a medida que se leen las filas, en el pool asíncrono propio de Spring MVC
+ * ({@link com.ordersystem.infrastructure.web.WebAsyncConfig})
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportFilter filter = new ExportFilter(status != null ? status.name() : null, customerId, createdFrom, createdTo);
+        return stream("orders", exportFormat, gzip, out -> exportService.exportOrders(filter, exportFormat, out));
+    }
+
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportFilter filter = new ExportFilter(status != null ? status.name() : null, customerId, createdFrom, createdTo);
+        return stream("payments", exportFormat, gzip, out -> exportService.exportPayments(filter, exportFormat, out));
+    }
+
+    /**
+     * Con gzip la respuesta se envía con {@code Content-Encoding: gzip}; los clientes HTTP la descomprimen al recibirla
+     */
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip,
+                                                         StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+            .filename(name + "." + format.getExtension())
+            .build());
+        if (!gzip) {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return ResponseEntity.ok().headers(headers).body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            body.writeTo(compressed);
+            compressed.finish();
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.ordersystem.api.controller;
+
+import java.util.Set;
+
+/**
+ * Parámetro {@code include} de las lecturas: expansiones opcionales de la respuesta
+ */
+final class IncludeParameter {
+
+    private IncludeParameter() {
+    }
+
+    /**
+     * Indica si se pidió la expansión; cualquier otro valor de include se rechaza
+     *
+     * @throws IllegalArgumentException si se pidió una expansión no soportada por el endpoint
+     */
+    static boolean includes(Set<String> include, String expansion) {
+        if (include == null) {
+            return false;
+        }
+        include.stream()
+            .filter(value -> !expansion.equals(value))
+            .findFirst()
+            .ifPresent(value -> {
+                throw new IllegalArgumentException("Valor de include no soportado: " + value);
+            });
+        return include.contains(expansion);
+    }
+}
@@ -1,7 +1,11 @@
 package com.ordersystem.api.controller;
 
+import com.ordersystem.api.dto.request.CreateOrderBatchRequest;
 import com.ordersystem.api.dto.request.CreateOrderRequest;
+import com.ordersystem.api.dto.response.CursorPageResponse;
+import com.ordersystem.api.dto.response.OrderBatchResponse;
 import com.ordersystem.api.dto.response.OrderResponse;
+import com.ordersystem.api.dto.response.OrderStateHistoryResponse;
 import com.ordersystem.application.service.OrderService;
 import com.ordersystem.domain.enums.OrderStatus;
 import jakarta.validation.Valid;
@@ -10,13 +14,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    /**
+     * Expansión opcional de las lecturas de órdenes: {@code include=history} agrega el historial de estados
+     */
+    private static final String INCLUDE_HISTORY = "history";
+
     private final OrderService orderService;
 
     @PostMapping
@@ -25,9 +34,26 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchResponse> createOrders(@Valid @RequestBody CreateOrderBatchRequest request) {
+        OrderBatchResponse response = orderService.createOrders(request.getOrders());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-        OrderResponse response = orderService.getOrderById(id);
+    public ResponseEntity<OrderResponse> getOrderById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> include) {
+        OrderResponse response = orderService.getOrderById(id, IncludeParameter.includes(include, INCLUDE_HISTORY));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPageResponse<OrderStateHistoryResponse>> getOrderHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageResponse<OrderStateHistoryResponse> response = orderService.getOrderHistory(id, after, size);
         return ResponseEntity.ok(response);
     }
 
@@ -50,14 +76,25 @@ public class OrderController {
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByCustomerId(@PathVariable Long customerId) {
-        List<OrderResponse> response = orderService.getOrdersByCustomerId(customerId);
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrdersByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Set<String> include) {
+        CursorPageResponse<OrderResponse> response =
+            orderService.getOrdersByCustomerId(customerId, after, size,
+                IncludeParameter.includes(include, INCLUDE_HISTORY));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<OrderResponse> response = orderService.getOrdersByStatus(status);
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Set<String> include) {
+        CursorPageResponse<OrderResponse> response =
+            orderService.getOrdersByStatus(status, after, size, IncludeParameter.includes(include, INCLUDE_HISTORY));
         return ResponseEntity.ok(response);
     }
 }
@@ -1,8 +1,12 @@
 package com.ordersystem.api.controller;
 
 import com.ordersystem.api.dto.request.CreatePaymentRequest;
+import com.ordersystem.api.dto.request.PaymentSettlementRequest;
+import com.ordersystem.api.dto.response.CursorPageResponse;
 import com.ordersystem.api.dto.response.OrderPaymentSummaryResponse;
 import com.ordersystem.api.dto.response.PaymentResponse;
+import com.ordersystem.api.dto.response.PaymentSettlementResponse;
+import com.ordersystem.api.dto.response.PaymentTransactionResponse;
 import com.ordersystem.application.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +15,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
 public class PaymentController {
 
+    /**
+     * Expansión opcional de las lecturas de pagos: {@code include=transactions} agrega las transacciones
+     */
+    private static final String INCLUDE_TRANSACTIONS = "transactions";
+
     private final PaymentService paymentService;
 
     @PostMapping
@@ -26,8 +36,20 @@ public class PaymentController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable Long id) {
-        PaymentResponse response = paymentService.getPaymentById(id);
+    public ResponseEntity<PaymentResponse> getPaymentById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> include) {
+        PaymentResponse response =
+            paymentService.getPaymentById(id, IncludeParameter.includes(include, INCLUDE_TRANSACTIONS));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<CursorPageResponse<PaymentTransactionResponse>> getPaymentTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageResponse<PaymentTransactionResponse> response = paymentService.getPaymentTransactions(id, after, size);
         return ResponseEntity.ok(response);
     }
 
@@ -49,17 +71,26 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/settlement")
+    public ResponseEntity<PaymentSettlementResponse> settlePayments(@Valid @RequestBody PaymentSettlementRequest request) {
+        PaymentSettlementResponse response = paymentService.settlePayments(request.getEntries());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<List<PaymentResponse>> getPaymentsByOrderId(@PathVariable Long orderId) {
-        List<PaymentResponse> response = paymentService.getPaymentsByOrderId(orderId);
+    public ResponseEntity<List<PaymentResponse>> getPaymentsByOrderId(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) Set<String> include) {
+        List<PaymentResponse> response =
+            paymentService.getPaymentsByOrderId(orderId, IncludeParameter.includes(include, INCLUDE_TRANSACTIONS));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/order/{orderId}/summary")
-    public ResponseEntity<OrderPaymentSummaryResponse> getOrderPaymentSummary(@PathVariable Long orderId) {
-        OrderPaymentSummaryResponse response = paymentService.getOrderPaymentSummary(orderId);
+    public ResponseEntity<OrderPaymentSummaryResponse> getOrderPaymentSummary(
+            @PathVariable Long orderId,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        OrderPaymentSummaryResponse response = paymentService.getOrderPaymentSummary(orderId, compact);
         return ResponseEntity.ok(response);
     }
 }
-
-
@@ -0,0 +1,25 @@
+package com.ordersystem.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lote de órdenes a crear en una sola llamada
+ *
+ * Cada orden se valida de forma individual en el servicio para poder reportar
+ * sus errores sin rechazar el lote completo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrderBatchRequest {
+
+    @NotEmpty(message = "El lote debe tener al menos una orden")
+    @Size(max = 5000, message = "El lote no puede superar las 5000 órdenes")
+    private List<CreateOrderRequest> orders;
+}
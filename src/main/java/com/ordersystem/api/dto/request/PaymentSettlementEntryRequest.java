@@ -0,0 +1,19 @@
+package com.ordersystem.api.dto.request;
+
+import com.ordersystem.domain.enums.PaymentStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSettlementEntryRequest {
+
+    @NotNull(message = "El ID del pago es obligatorio")
+    private Long paymentId;
+
+    @NotNull(message = "El estado destino es obligatorio")
+    private PaymentStatus status;
+}
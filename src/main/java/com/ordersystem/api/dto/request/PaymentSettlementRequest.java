@@ -0,0 +1,24 @@
+package com.ordersystem.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Archivo de liquidación del proveedor de pagos: estado final de muchos pagos a la vez
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSettlementRequest {
+
+    @NotEmpty(message = "La liquidación debe tener al menos un pago")
+    @Size(max = 5000, message = "La liquidación no puede superar los 5000 pagos")
+    private List<@NotNull(message = "Los pagos de la liquidación no pueden ser nulos") @Valid PaymentSettlementEntryRequest> entries;
+}
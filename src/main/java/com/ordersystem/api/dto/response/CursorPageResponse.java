@@ -0,0 +1,24 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO genérico para resultados paginados por cursor (keyset)
+ *
+ * El cliente solicita la siguiente página enviando {@code nextCursor} como parámetro {@code after}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación de clientes
+ * Solo se detallan las filas rechazadas, hasta {@code customers.import.max-reported-rows}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportResponse {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private List<CustomerImportRowResponse> rejected;
+    private boolean rejectedTruncated;
+}
@@ -0,0 +1,27 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila rechazada de una importación de clientes, identificada por su línea en el archivo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportRowResponse {
+
+    public enum Outcome {
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private long line;
+    private String email;
+    private Outcome outcome;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de una orden dentro de un lote, identificada por su posición en la solicitud
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchItemResponse {
+    private int index;
+    private boolean success;
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private String error;
+}
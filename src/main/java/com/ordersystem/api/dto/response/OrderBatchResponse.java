@@ -0,0 +1,22 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de la creación de un lote de órdenes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private List<OrderBatchItemResponse> results;
+}
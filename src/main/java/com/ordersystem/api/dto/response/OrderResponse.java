@@ -1,5 +1,6 @@
 package com.ordersystem.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.ordersystem.domain.enums.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,8 +22,15 @@ public class OrderResponse {
     private String customerEmail;
     private List<OrderItemResponse> items;
     private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal pendingAmount;
     private OrderStatus status;
     private LocalDateTime createdAt;
+
+    /**
+     * Solo presente si se pide con {@code include=history}; el historial completo se pagina en /api/orders/{id}/history
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<OrderStateHistoryResponse> stateHistory;
 }
 
@@ -1,5 +1,6 @@
 package com.ordersystem.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.ordersystem.domain.enums.PaymentStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +21,12 @@ public class PaymentResponse {
     private BigDecimal amount;
     private PaymentStatus status;
     private LocalDateTime createdAt;
+
+    /**
+     * Solo presente si se pide con {@code include=transactions} y en el resumen completo;
+     * las transacciones se paginan en /api/payments/{id}/transactions
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<PaymentTransactionResponse> transactions;
 }
 
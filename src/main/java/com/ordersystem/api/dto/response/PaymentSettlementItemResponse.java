@@ -0,0 +1,22 @@
+package com.ordersystem.api.dto.response;
+
+import com.ordersystem.domain.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un pago dentro de una liquidación
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSettlementItemResponse {
+    private Long paymentId;
+    private Long orderId;
+    private boolean success;
+    private PaymentStatus status;
+    private String error;
+}
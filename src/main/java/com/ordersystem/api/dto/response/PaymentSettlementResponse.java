@@ -0,0 +1,23 @@
+package com.ordersystem.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de aplicar una liquidación de pagos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSettlementResponse {
+    private int total;
+    private int applied;
+    private int failed;
+    private int ordersPaid;
+    private List<PaymentSettlementItemResponse> results;
+}
@@ -0,0 +1,20 @@
+package com.ordersystem.application.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de una exportación; los valores null no filtran
+ *
+ * @param status      nombre del estado (de la orden o del pago, según la exportación)
+ * @param customerId  cliente de la orden
+ * @param createdFrom fecha de creación desde (inclusive)
+ * @param createdTo   fecha de creación hasta (exclusive)
+ */
+public record ExportFilter(String status, Long customerId, LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+    public ExportFilter {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+    }
+}
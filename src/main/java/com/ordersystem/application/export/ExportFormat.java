@@ -0,0 +1,41 @@
+package com.ordersystem.application.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos de exportación: una fila por línea, con o sin encabezado
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resuelve el formato sin distinguir mayúsculas ({@code ndjson}, {@code csv})
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+        }
+    }
+}
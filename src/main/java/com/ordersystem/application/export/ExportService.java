@@ -0,0 +1,265 @@
+package com.ordersystem.application.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Exportación de órdenes y pagos para conciliación, fila a fila desde un cursor JDBC
+ *
+ * Las filas se leen con un cursor de solo avance ({@code export.fetch-size} filas por viaje a la base
+ * de datos) y se escriben en el stream de la respuesta a medida que llegan, sin armar listas ni cargar
+ * entidades en un contexto de persistencia: la memoria usada no depende del tamaño de la exportación.
+ * La lectura corre en una transacción de solo lectura porque PostgreSQL solo respeta el fetch size
+ * con autocommit desactivado; fuera de una transacción, el driver trae todo el resultado a memoria.
+ *
+ * Métricas: {@code ordersystem.export.rows} (filas exportadas por conjunto y formato).
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final List<String> ORDER_FIELDS = List.of(
+        "id", "customerId", "customerEmail", "status", "totalAmount", "paidAmount", "createdAt");
+
+    private static final String ORDERS_SQL = "SELECT o.id, o.customer_id, c.email, o.status, "
+        + "o.total_amount, o.paid_amount, o.created_at FROM orders o JOIN customers c ON c.id = o.customer_id";
+
+    private static final List<String> PAYMENT_FIELDS = List.of(
+        "id", "orderId", "customerId", "status", "amount", "createdAt");
+
+    private static final String PAYMENTS_SQL = "SELECT p.id, p.order_id, o.customer_id, p.status, "
+        + "p.amount, p.created_at FROM payments p JOIN orders o ON o.id = p.order_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public ExportService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Escribe las órdenes que cumplen el filtro, ordenadas por ID; el estado filtra el de la orden
+     */
+    public long exportOrders(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return export("orders", ORDERS_SQL, "o", "o", ORDER_FIELDS, filter, format, out);
+    }
+
+    /**
+     * Escribe los pagos que cumplen el filtro, ordenados por ID; el estado filtra el del pago
+     * y el cliente es el de la orden del pago
+     */
+    public long exportPayments(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return export("payments", PAYMENTS_SQL, "p", "o", PAYMENT_FIELDS, filter, format, out);
+    }
+
+    /**
+     * @param alias         alias de la tabla exportada (ID, estado y fecha de creación)
+     * @param customerAlias alias de la tabla de órdenes, que tiene el cliente
+     */
+    private long export(String dataset, String select, String alias, String customerAlias, List<String> fields,
+                        ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        if (filter.status() != null) {
+            sql.append(" AND ").append(alias).append(".status = :status");
+            params.addValue("status", filter.status());
+        }
+        if (filter.customerId() != null) {
+            sql.append(" AND ").append(customerAlias).append(".customer_id = :customerId");
+            params.addValue("customerId", filter.customerId());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND ").append(alias).append(".created_at >= :createdFrom");
+            params.addValue("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND ").append(alias).append(".created_at < :createdTo");
+            params.addValue("createdTo", filter.createdTo());
+        }
+        sql.append(" ORDER BY ").append(alias).append(".id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ExportFormat.CSV
+            ? new CsvRowWriter(writer, fields)
+            : new NdjsonRowWriter(objectMapper.createGenerator(writer), fields);
+
+        long started = System.nanoTime();
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> jdbcTemplate.query(sql.toString(), params, rs -> {
+                long count = 0;
+                try {
+                    rowWriter.start();
+                    while (rs.next()) {
+                        rowWriter.write(rs);
+                        count++;
+                    }
+                    rowWriter.finish();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return count;
+            }));
+        } catch (UncheckedIOException ex) {
+            // El cliente cerró la conexión o falló la escritura: se corta la lectura del cursor
+            throw ex.getCause();
+        }
+        writer.flush();
+
+        long exported = rows != null ? rows : 0L;
+        meterRegistry.counter("ordersystem.export.rows", "dataset", dataset, "format", format.getExtension())
+            .increment(exported);
+        log.info("Exportación de {} ({}) completada: {} filas en {} ms",
+            dataset, format, exported, (System.nanoTime() - started) / 1_000_000);
+        return exported;
+    }
+
+    /**
+     * Convierte los tipos JDBC a los que se escriben: los timestamps como LocalDateTime (ISO-8601)
+     */
+    private static Object readValue(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    private interface RowWriter {
+
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Un objeto JSON por línea, escrito campo a campo sin objetos intermedios
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final List<String> fields;
+
+        NdjsonRowWriter(JsonGenerator generator, List<String> fields) {
+            // Sin separador entre objetos raíz: cada objeto termina con su propio salto de línea
+            generator.setRootValueSeparator(null);
+            this.generator = generator;
+            this.fields = fields;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.size(); i++) {
+                generator.writeFieldName(fields.get(i));
+                Object value = readValue(rs, i + 1);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV (RFC 4180) con una fila de encabezado con los nombres de los campos
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final List<String> fields;
+
+        CsvRowWriter(Writer writer, List<String> fields) {
+            this.writer = writer;
+            this.fields = fields;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", fields));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = readValue(rs, i + 1);
+                if (value instanceof BigDecimal decimal) {
+                    writer.write(decimal.toPlainString());
+                } else if (value != null) {
+                    writeEscaped(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
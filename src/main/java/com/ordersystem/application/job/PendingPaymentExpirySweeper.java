@@ -0,0 +1,86 @@
+package com.ordersystem.application.job;
+
+import com.ordersystem.application.service.PaymentService;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.repository.PaymentRepository;
+import com.ordersystem.infrastructure.scheduling.SingleNodeJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Barrido de pagos PENDING vencidos: los que superan {@code payment.expiry.max-age-minutes} pasan a FAILED
+ *
+ * Un pago cuya pasarela nunca respondió bloquea su orden indefinidamente. El barrido recorre los
+ * pagos vencidos por ID en bloques de {@code payment.expiry.chunk-size}: cada bloque se lee en una
+ * consulta corta y se vence en su propia transacción ({@link PaymentService#expirePendingPayments}),
+ * por lo que nunca hay una transacción larga ni locks sobre rangos de la tabla {@code payments}.
+ * Un bloque que falla se deja para el siguiente ciclo sin detener el resto.
+ *
+ * Métricas: {@code ordersystem.payments.expired}.
+ */
+@Slf4j
+@Component
+public class PendingPaymentExpirySweeper {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final Counter expiredPayments;
+
+    @Value("${payment.expiry.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${payment.expiry.chunk-size:200}")
+    private int chunkSize;
+
+    public PendingPaymentExpirySweeper(PaymentRepository paymentRepository, PaymentService paymentService,
+                                       MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.expiredPayments = Counter.builder("ordersystem.payments.expired")
+            .description("Pagos PENDING vencidos marcados como FAILED por el barrido")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.expiry.poll-interval-ms:60000}")
+    @SingleNodeJob("payment-expiry")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(maxAgeMinutes);
+        long afterId = 0L;
+        int expired = 0;
+        while (true) {
+            List<Long> chunk = paymentRepository.findIdsByStatusCreatedBefore(
+                PaymentStatus.PENDING, cutoff, afterId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            try {
+                int count = paymentService.expirePendingPayments(chunk, cutoff);
+                expiredPayments.increment(count);
+                expired += count;
+            } catch (DataAccessException | TransactionException ex) {
+                log.warn("No se pudo vencer un bloque de {} pagos (IDs {}-{}), se reintentará en el siguiente ciclo: {}",
+                    chunk.size(), chunk.get(0), chunk.get(chunk.size() - 1), ex.getMessage());
+            }
+
+            afterId = chunk.get(chunk.size() - 1);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (expired > 0) {
+            log.info("Barrido de pagos vencidos: {} pagos PENDING creados antes de {} marcados como FAILED", expired, cutoff);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ordersystem.application.job;
+
+import com.ordersystem.application.service.OrderService;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.repository.OrderRepository;
+import com.ordersystem.domain.repository.projection.OrderStatusCount;
+import com.ordersystem.infrastructure.scheduling.SingleNodeJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cancelación de órdenes abandonadas: las CREATED o CONFIRMED con más de {@code order.auto-cancel.ttl-hours}
+ *
+ * Recorre las órdenes vencidas por ID en bloques de {@code order.auto-cancel.chunk-size}; cada bloque se
+ * cancela en su propia transacción con la regla cancel() de la entidad ({@link OrderService#cancelStaleOrders})
+ * y emite un {@code OrderCancelledEvent} por orden. Cada ciclo procesa como mucho
+ * {@code order.auto-cancel.max-chunks-per-run} bloques y el siguiente continúa desde el último ID; el ritmo
+ * lo marca {@code poll-interval-ms}, sin dormir en el hilo del scheduler que comparten los demás trabajos.
+ * Se usa una sola conexión a la vez, para no competir con el flujo de compra por el pool de conexiones.
+ * Un bloque que falla se deja para la siguiente pasada.
+ *
+ * Con {@code order.auto-cancel.dry-run=true} no se modifica nada: solo se cuentan las órdenes que se
+ * cancelarían, por estado, y se informan en el log y en el gauge de candidatas.
+ *
+ * Métricas: {@code ordersystem.orders.auto_cancelled} (tag from) y
+ * {@code ordersystem.orders.auto_cancel.candidates} (tag status, último conteo de la simulación).
+ */
+@Slf4j
+@Component
+public class StaleOrderCanceller {
+
+    private static final Set<OrderStatus> STALE_STATUSES = EnumSet.of(OrderStatus.CREATED, OrderStatus.CONFIRMED);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final Map<OrderStatus, AtomicLong> candidates = new EnumMap<>(OrderStatus.class);
+
+    @Value("${order.auto-cancel.ttl-hours:72}")
+    private long ttlHours;
+
+    @Value("${order.auto-cancel.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${order.auto-cancel.max-chunks-per-run:10}")
+    private int maxChunksPerRun;
+
+    @Value("${order.auto-cancel.dry-run:false}")
+    private boolean dryRun;
+
+    /**
+     * ID desde el que continúa el siguiente ciclo; vuelve a 0 al llegar al final de las órdenes vencidas
+     */
+    private long resumeAfterId;
+
+    public StaleOrderCanceller(OrderRepository orderRepository, OrderService orderService, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        for (OrderStatus status : STALE_STATUSES) {
+            AtomicLong candidateCount = new AtomicLong();
+            candidates.put(status, candidateCount);
+            Gauge.builder("ordersystem.orders.auto_cancel.candidates", candidateCount, AtomicLong::get)
+                .description("Órdenes vencidas que se cancelarían, según la última simulación")
+                .tag("status", status.name())
+                .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.auto-cancel.poll-interval-ms:60000}")
+    @SingleNodeJob("order-auto-cancel")
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        Map<OrderStatus, Integer> totals = dryRun ? count(cutoff) : cancel(cutoff);
+
+        if (!totals.isEmpty()) {
+            log.info("Cancelación de órdenes vencidas{}: {} órdenes creadas antes de {} ({})",
+                dryRun ? " (simulación, sin cambios)" : "",
+                totals.values().stream().mapToInt(Integer::intValue).sum(), cutoff, totals);
+        }
+    }
+
+    private Map<OrderStatus, Integer> count(LocalDateTime cutoff) {
+        Map<OrderStatus, Integer> totals = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusCount statusCount : orderRepository.countByStatusInCreatedBefore(STALE_STATUSES, cutoff)) {
+            totals.put(statusCount.status(), statusCount.count().intValue());
+        }
+        candidates.forEach((status, candidateCount) -> candidateCount.set(totals.getOrDefault(status, 0)));
+        return totals;
+    }
+
+    private Map<OrderStatus, Integer> cancel(LocalDateTime cutoff) {
+        Map<OrderStatus, Integer> totals = new EnumMap<>(OrderStatus.class);
+        long afterId = resumeAfterId;
+        for (int chunks = 0; chunks < maxChunksPerRun; chunks++) {
+            List<Long> chunk = orderRepository.findIdsByStatusInCreatedBefore(
+                STALE_STATUSES, cutoff, afterId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                afterId = 0L;
+                break;
+            }
+
+            try {
+                orderService.cancelStaleOrders(chunk, STALE_STATUSES, cutoff).forEach((status, count) -> {
+                    totals.merge(status, count, Integer::sum);
+                    cancelled(status).increment(count);
+                });
+            } catch (DataAccessException | TransactionException ex) {
+                log.warn("No se pudo cancelar un bloque de {} órdenes (IDs {}-{}), se reintentará en la siguiente pasada: {}",
+                    chunk.size(), chunk.get(0), chunk.get(chunk.size() - 1), ex.getMessage());
+            }
+
+            afterId = chunk.get(chunk.size() - 1);
+            if (chunk.size() < chunkSize) {
+                afterId = 0L;
+                break;
+            }
+        }
+        resumeAfterId = afterId;
+        return totals;
+    }
+
+    private Counter cancelled(OrderStatus from) {
+        return Counter.builder("ordersystem.orders.auto_cancelled")
+            .description("Órdenes vencidas canceladas por estado de origen")
+            .tag("from", from.name())
+            .register(meterRegistry);
+    }
+}
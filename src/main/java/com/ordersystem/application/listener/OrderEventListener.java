@@ -1,10 +1,9 @@
 package com.ordersystem.application.listener;
 
+import com.ordersystem.domain.event.OrderCancelledEvent;
 import com.ordersystem.domain.event.OrderConfirmedEvent;
 import com.ordersystem.domain.event.OrderPaidEvent;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -12,13 +11,14 @@ import org.springframework.stereotype.Component;
  * 
  * Estos listeners permiten ejecutar lógica adicional cuando ocurren eventos importantes
  * sin acoplar la lógica al flujo principal de negocio
+ *
+ * Los eventos llegan desde el outbox (OutboxRelay) una vez confirmada la transacción que los originó,
+ * con entrega al menos una vez: un mismo evento puede recibirse más de una vez
  */
 @Slf4j
 @Component
 public class OrderEventListener {
 
-    @EventListener
-    @Async
     public void handleOrderConfirmed(OrderConfirmedEvent event) {
         log.info("Evento recibido: Orden {} confirmada para cliente {}", 
             event.getOrderId(), event.getCustomerId());
@@ -30,8 +30,15 @@ public class OrderEventListener {
         // - Generar documentos
     }
 
-    @EventListener
-    @Async
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+        log.info("Evento recibido: Orden {} cancelada para cliente {}",
+            event.getOrderId(), event.getCustomerId());
+
+        // Aquí se puede agregar lógica adicional como:
+        // - Liberar el inventario reservado
+        // - Notificar al cliente
+    }
+
     public void handleOrderPaid(OrderPaidEvent event) {
         log.info("Evento recibido: Orden {} pagada (monto: {}) para cliente {}", 
             event.getOrderId(), event.getTotalAmount(), event.getCustomerId());
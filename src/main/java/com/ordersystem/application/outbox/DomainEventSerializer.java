@@ -0,0 +1,112 @@
+package com.ordersystem.application.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.event.OrderPaidEvent;
+import com.ordersystem.domain.event.PaymentApprovedEvent;
+import com.ordersystem.domain.event.PaymentFailedEvent;
+import com.ordersystem.domain.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Convierte los eventos de dominio a filas del outbox y viceversa
+ *
+ * El payload solo contiene los datos del evento (nunca el {@code source}), en JSON.
+ * Los montos se guardan como texto para conservar su escala exacta
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEvent toOutboxEvent(ApplicationEvent event) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        Long aggregateId;
+
+        if (event instanceof OrderConfirmedEvent e) {
+            aggregateId = e.getOrderId();
+            payload.put("orderId", e.getOrderId())
+                .put("customerId", e.getCustomerId())
+                .put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderCancelledEvent e) {
+            aggregateId = e.getOrderId();
+            payload.put("orderId", e.getOrderId())
+                .put("customerId", e.getCustomerId())
+                .put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderPaidEvent e) {
+            aggregateId = e.getOrderId();
+            payload.put("orderId", e.getOrderId())
+                .put("customerId", e.getCustomerId())
+                .put("totalAmount", decimalText(e.getTotalAmount()))
+                .put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof PaymentApprovedEvent e) {
+            aggregateId = e.getPaymentId();
+            payload.put("paymentId", e.getPaymentId())
+                .put("orderId", e.getOrderId())
+                .put("amount", decimalText(e.getAmount()))
+                .put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof PaymentFailedEvent e) {
+            aggregateId = e.getPaymentId();
+            payload.put("paymentId", e.getPaymentId())
+                .put("orderId", e.getOrderId())
+                .put("amount", decimalText(e.getAmount()))
+                .put("occurredAt", e.getOccurredAt().toString());
+        } else {
+            throw new IllegalArgumentException("Tipo de evento no soportado por el outbox: " + event.getClass().getName());
+        }
+
+        return OutboxEvent.builder()
+            .eventType(event.getClass().getSimpleName())
+            .aggregateId(aggregateId)
+            .payload(payload.toString())
+            .build();
+    }
+
+    public ApplicationEvent fromOutboxEvent(OutboxEvent outboxEvent, Object source) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(outboxEvent.getPayload());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Payload inválido en el evento de outbox " + outboxEvent.getId(), ex);
+        }
+
+        Instant occurredAt = Instant.parse(payload.get("occurredAt").asText());
+        return switch (outboxEvent.getEventType()) {
+            case "OrderConfirmedEvent" -> new OrderConfirmedEvent(source,
+                longValue(payload, "orderId"), longValue(payload, "customerId"), occurredAt);
+            case "OrderCancelledEvent" -> new OrderCancelledEvent(source,
+                longValue(payload, "orderId"), longValue(payload, "customerId"), occurredAt);
+            case "OrderPaidEvent" -> new OrderPaidEvent(source,
+                longValue(payload, "orderId"), longValue(payload, "customerId"), decimalValue(payload, "totalAmount"), occurredAt);
+            case "PaymentApprovedEvent" -> new PaymentApprovedEvent(source,
+                longValue(payload, "paymentId"), longValue(payload, "orderId"), decimalValue(payload, "amount"), occurredAt);
+            case "PaymentFailedEvent" -> new PaymentFailedEvent(source,
+                longValue(payload, "paymentId"), longValue(payload, "orderId"), decimalValue(payload, "amount"), occurredAt);
+            default -> throw new IllegalStateException("Tipo de evento desconocido en el outbox: " + outboxEvent.getEventType());
+        };
+    }
+
+    private String decimalText(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    private Long longValue(JsonNode payload, String field) {
+        JsonNode node = payload.get(field);
+        return node == null || node.isNull() ? null : node.asLong();
+    }
+
+    private BigDecimal decimalValue(JsonNode payload, String field) {
+        JsonNode node = payload.get(field);
+        return node == null || node.isNull() ? null : new BigDecimal(node.asText());
+    }
+}
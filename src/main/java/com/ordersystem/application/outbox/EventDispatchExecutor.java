@@ -0,0 +1,149 @@
+package com.ordersystem.application.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Ejecutor de los listeners de eventos de dominio, con un pool acotado por tipo de evento
+ *
+ * Cada tipo de evento tiene su propio pool y su propia cola, para que una ráfaga de un tipo no
+ * retrase ni agote los hilos de los demás. Cuando la cola de un tipo está llena se aplica la política
+ * de rechazo configurada:
+ * - DROP_TO_OUTBOX: el evento se rechaza y queda pendiente en el outbox para el siguiente ciclo del relay
+ * - CALLER_RUNS: el relay ejecuta el listener en su propio hilo, frenando la lectura de nuevos lotes
+ *
+ * Métricas: executor.* (cola, hilos activos, tareas completadas) con tag name=events.&lt;tipo&gt;,
+ * {@code ordersystem.events.handler} (latencia del listener por tipo y resultado) y
+ * {@code ordersystem.events.rejected} (rechazos por tipo y política).
+ *
+ * Con {@code spring.threads.virtual.enabled=true} (Java 21) los hilos de cada pool son virtuales: el pool
+ * se mantiene solo como límite de concurrencia y cola acotada por tipo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventDispatchExecutor {
+
+    public enum RejectionPolicy {
+        DROP_TO_OUTBOX,
+        CALLER_RUNS
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Map<String, ThreadPoolTaskExecutor> executors = new ConcurrentHashMap<>();
+    private final Map<String, HandlerTimers> handlerTimers = new ConcurrentHashMap<>();
+
+    @Value("${events.dispatch.core-size:2}")
+    private int coreSize;
+
+    @Value("${events.dispatch.max-size:4}")
+    private int maxSize;
+
+    @Value("${events.dispatch.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${events.dispatch.rejection-policy:DROP_TO_OUTBOX}")
+    private RejectionPolicy rejectionPolicy;
+
+    /**
+     * Envía el listener al pool del tipo de evento
+     *
+     * @throws RejectedExecutionException si la cola está llena y la política es DROP_TO_OUTBOX
+     */
+    public CompletableFuture<Void> submit(String eventType, Runnable handler) {
+        ThreadPoolTaskExecutor executor = executors.computeIfAbsent(eventType, this::createExecutor);
+        HandlerTimers timers = handlerTimers.computeIfAbsent(eventType, this::createHandlerTimers);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return CompletableFuture.runAsync(() -> {
+            Timer timer = timers.success();
+            try {
+                handler.run();
+            } catch (RuntimeException ex) {
+                timer = timers.error();
+                throw ex;
+            } finally {
+                sample.stop(timer);
+            }
+        }, executor.getThreadPoolExecutor());
+    }
+
+    /**
+     * Timers de latencia del tipo de evento por resultado, resueltos una sola vez por tipo
+     */
+    private HandlerTimers createHandlerTimers(String eventType) {
+        return new HandlerTimers(handlerTimer(eventType, "success"), handlerTimer(eventType, "error"));
+    }
+
+    private Timer handlerTimer(String eventType, String outcome) {
+        return Timer.builder("ordersystem.events.handler")
+            .description("Latencia de los listeners de eventos de dominio, incluida la espera en cola")
+            .tag("event", eventType)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String eventType) {
+        Counter rejections = Counter.builder("ordersystem.events.rejected")
+            .description("Eventos rechazados por cola llena")
+            .tag("event", eventType)
+            .tag("policy", rejectionPolicy.name())
+            .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("events-" + eventType + "-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("events-" + eventType + "-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(rejectionHandler(rejections));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "events." + eventType, Tags.empty())
+            .bindTo(meterRegistry);
+        log.info("Pool de eventos {} creado (core={}, max={}, cola={}, política={}, virtual={})",
+            eventType, coreSize, maxSize, queueCapacity, rejectionPolicy, Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(Counter rejections) {
+        RejectedExecutionHandler delegate = rejectionPolicy == RejectionPolicy.CALLER_RUNS
+            ? new ThreadPoolExecutor.CallerRunsPolicy()
+            : new ThreadPoolExecutor.AbortPolicy();
+        return (task, pool) -> {
+            rejections.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    private record HandlerTimers(Timer success, Timer error) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.ordersystem.application.outbox;
+
+import com.ordersystem.application.listener.OrderEventListener;
+import com.ordersystem.application.listener.PaymentEventListener;
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.event.OrderPaidEvent;
+import com.ordersystem.domain.event.PaymentApprovedEvent;
+import com.ordersystem.domain.event.PaymentFailedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entrega un evento leído del outbox al listener que corresponde a su tipo
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventDispatcher {
+
+    private final OrderEventListener orderEventListener;
+    private final PaymentEventListener paymentEventListener;
+
+    public void dispatch(ApplicationEvent event) {
+        if (event instanceof OrderConfirmedEvent e) {
+            orderEventListener.handleOrderConfirmed(e);
+        } else if (event instanceof OrderCancelledEvent e) {
+            orderEventListener.handleOrderCancelled(e);
+        } else if (event instanceof OrderPaidEvent e) {
+            orderEventListener.handleOrderPaid(e);
+        } else if (event instanceof PaymentApprovedEvent e) {
+            paymentEventListener.handlePaymentApproved(e);
+        } else if (event instanceof PaymentFailedEvent e) {
+            paymentEventListener.handlePaymentFailed(e);
+        } else {
+            throw new IllegalArgumentException("Sin listener para el evento: " + event.getClass().getName());
+        }
+    }
+}
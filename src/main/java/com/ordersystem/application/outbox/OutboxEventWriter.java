@@ -0,0 +1,40 @@
+package com.ordersystem.application.outbox;
+
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.event.OrderPaidEvent;
+import com.ordersystem.domain.event.PaymentApprovedEvent;
+import com.ordersystem.domain.event.PaymentFailedEvent;
+import com.ordersystem.domain.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registra en el outbox cada evento de dominio publicado por los servicios
+ *
+ * Se ejecuta de forma síncrona dentro de la transacción que publica el evento (MANDATORY):
+ * si el cambio de estado hace rollback, el evento tampoco queda registrado.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventSerializer serializer;
+
+    @EventListener({
+        OrderConfirmedEvent.class,
+        OrderCancelledEvent.class,
+        OrderPaidEvent.class,
+        PaymentApprovedEvent.class,
+        PaymentFailedEvent.class
+    })
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(ApplicationEvent event) {
+        outboxEventRepository.save(serializer.toOutboxEvent(event));
+    }
+}
@@ -0,0 +1,186 @@
+package com.ordersystem.application.outbox;
+
+import com.ordersystem.domain.model.OutboxEvent;
+import com.ordersystem.domain.repository.OutboxEventRepository;
+import com.ordersystem.infrastructure.scheduling.SingleNodeJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay del outbox: lee los eventos pendientes por lotes y los despacha a los listeners
+ *
+ * Los listeners se ejecutan en los pools acotados de {@link EventDispatchExecutor}; el relay espera a
+ * que termine el lote, sin transacción abierta, y después marca los eventos despachados como procesados
+ * (checkpoint) en una transacción corta.
+ * Un evento rechazado por cola llena o que no terminó a tiempo queda pendiente sin consumir un intento.
+ * Si el proceso muere entre el despacho y el checkpoint, el lote se vuelve a despachar en el siguiente
+ * ciclo, por lo que los listeners deben ser idempotentes.
+ * Un evento cuyo despacho falla se reintenta en los ciclos siguientes hasta {@code max-attempts}.
+ * Con varios nodos, el relay y la purga corren solo en el nodo que tiene su lease ({@link SingleNodeJob}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventSerializer serializer;
+    private final OutboxEventDispatcher dispatcher;
+    private final EventDispatchExecutor dispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.dispatch-timeout-ms:30000}")
+    private long dispatchTimeoutMs;
+
+    @Value("${outbox.relay.retention-hours:24}")
+    private int retentionHours;
+
+    /**
+     * Despacha todos los eventos pendientes al momento del ciclo, un lote a la vez
+     * Avanza por ID dentro del ciclo para que un evento fallido no se reintente en el mismo ciclo
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    @SingleNodeJob("outbox-relay")
+    public void relay() {
+        long afterId = 0L;
+        while (true) {
+            Long lastId = relayBatch(afterId);
+            if (lastId == null) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    /**
+     * Despacha un lote y devuelve el ID del último evento, o null si no quedan pendientes
+     *
+     * El lote se lee y se marca en dos transacciones cortas; entre ambas, mientras los listeners corren
+     * (incluso en el hilo del relay con CALLER_RUNS), no queda ninguna transacción ni conexión abierta.
+     */
+    private Long relayBatch(long afterId) {
+        List<OutboxEvent> batch = transactionTemplate.execute(status ->
+            outboxEventRepository.findPending(maxAttempts, afterId, Limit.of(batchSize)));
+        if (batch == null || batch.isEmpty()) {
+            return null;
+        }
+
+        Map<Long, String> failures = new LinkedHashMap<>();
+        Map<OutboxEvent, CompletableFuture<Void>> dispatches = new LinkedHashMap<>();
+        int rejected = 0;
+        for (OutboxEvent outboxEvent : batch) {
+            ApplicationEvent event;
+            try {
+                event = serializer.fromOutboxEvent(outboxEvent, this);
+            } catch (RuntimeException ex) {
+                failures.put(outboxEvent.getId(), ex.getMessage());
+                log.warn("Evento de outbox {} ilegible: {}", outboxEvent.getId(), ex.getMessage());
+                continue;
+            }
+
+            try {
+                dispatches.put(outboxEvent, dispatchExecutor.submit(outboxEvent.getEventType(), () -> dispatcher.dispatch(event)));
+            } catch (RejectedExecutionException ex) {
+                // Cola del tipo de evento llena: queda pendiente para el siguiente ciclo
+                rejected++;
+            }
+        }
+
+        awaitDispatches(dispatches.values());
+
+        List<Long> dispatched = new ArrayList<>(dispatches.size());
+        for (Map.Entry<OutboxEvent, CompletableFuture<Void>> dispatch : dispatches.entrySet()) {
+            OutboxEvent outboxEvent = dispatch.getKey();
+            CompletableFuture<Void> future = dispatch.getValue();
+            if (!future.isDone()) {
+                // Sigue en ejecución: no se hace checkpoint y se volverá a despachar
+                continue;
+            }
+            if (future.isCompletedExceptionally()) {
+                String error = future.handle((result, ex) -> ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()).join();
+                failures.put(outboxEvent.getId(), error);
+                log.warn("Error despachando el evento de outbox {} ({}), intento {}: {}",
+                    outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getAttempts() + 1, error);
+            } else {
+                dispatched.add(outboxEvent.getId());
+            }
+        }
+
+        checkpoint(dispatched, failures);
+
+        if (rejected > 0) {
+            log.warn("Outbox: {} eventos rechazados por colas llenas, se reintentarán en el siguiente ciclo", rejected);
+        }
+        log.debug("Outbox: lote de {} eventos despachado ({} con error)", batch.size(), failures.size());
+        return batch.size() < batchSize ? null : batch.get(batch.size() - 1).getId();
+    }
+
+    /**
+     * Marca los eventos despachados como procesados y registra los fallidos, en una sola transacción
+     */
+    private void checkpoint(List<Long> dispatched, Map<Long, String> failures) {
+        if (dispatched.isEmpty() && failures.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!dispatched.isEmpty()) {
+                outboxEventRepository.markDispatched(dispatched, now);
+            }
+            failures.forEach((id, error) -> outboxEventRepository.markFailed(id, OutboxEvent.truncateError(error)));
+        });
+    }
+
+    /**
+     * Espera a que terminen los listeners del lote, como máximo {@code outbox.relay.dispatch-timeout-ms}
+     */
+    private void awaitDispatches(Collection<CompletableFuture<Void>> futures) {
+        CompletableFuture<?>[] settled = futures.stream()
+            .map(future -> future.handle((result, ex) -> null))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(settled).get(dispatchTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Outbox: listeners sin terminar después de {} ms", dispatchTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // No ocurre: cada futuro ya maneja su propia excepción
+        }
+    }
+
+    /**
+     * Elimina los eventos ya procesados más antiguos que el período de retención
+     */
+    @Scheduled(cron = "${outbox.relay.purge-cron:0 0 * * * *}")
+    @SingleNodeJob("outbox-purge")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(cutoff));
+        log.info("Outbox: {} eventos procesados eliminados (anteriores a {})", deleted, cutoff);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ordersystem.application.service;
+
+/**
+ * Tamaño de página de los listados paginados por cursor (órdenes, historial y transacciones de pagos)
+ */
+final class CursorPagination {
+
+    /**
+     * Tamaño máximo de página permitido en los listados paginados
+     */
+    static final int MAX_PAGE_SIZE = 200;
+
+    private CursorPagination() {
+    }
+
+    /**
+     * Valida el tamaño pedido y lo limita a {@link #MAX_PAGE_SIZE}
+     *
+     * @throws IllegalArgumentException si el tamaño es menor a 1
+     */
+    static int resolvePageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
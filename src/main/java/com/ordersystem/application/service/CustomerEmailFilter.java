@@ -0,0 +1,188 @@
+package com.ordersystem.application.service;
+
+import com.ordersystem.domain.repository.CustomerRepository;
+import com.ordersystem.domain.repository.projection.CustomerEmailView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom con los emails de los clientes existentes
+ *
+ * Responde "seguro que no existe" sin ir a la base de datos; un "puede existir" se confirma con
+ * {@code existsByEmail}. La restricción única de {@code customers.email} sigue siendo la garantía
+ * final: un email insertado por otro nodo no está en este filtro y lo detecta la base de datos.
+ * Mientras no termina la carga inicial (al arrancar la aplicación) todo email se trata como posible.
+ *
+ * Métricas: {@code ordersystem.customers.email_filter.checks} (resultado: negative, false_positive, duplicate),
+ * {@code ordersystem.customers.email_filter.expected_fpp}, {@code ordersystem.customers.email_filter.entries}
+ * y {@code ordersystem.customers.email_filter.memory}.
+ */
+@Slf4j
+@Component
+public class CustomerEmailFilter {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder entries = new LongAdder();
+    private final Counter negatives;
+    private final Counter falsePositives;
+    private final Counter duplicates;
+
+    private volatile boolean loaded;
+
+    public CustomerEmailFilter(CustomerRepository customerRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${customers.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${customers.email-filter.target-fpp:0.01}") double targetFpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("La cantidad esperada de emails debe ser mayor a cero");
+        }
+        if (targetFpp <= 0 || targetFpp >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1");
+        }
+        this.customerRepository = customerRepository;
+
+        // m = -n ln(p) / ln(2)^2 bits y k = (m / n) ln(2) funciones hash
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(targetFpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+
+        this.negatives = checks(meterRegistry, "negative");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+        this.duplicates = checks(meterRegistry, "duplicate");
+        Gauge.builder("ordersystem.customers.email_filter.expected_fpp", this, CustomerEmailFilter::expectedFalsePositiveRate)
+            .description("Tasa de falsos positivos esperada con los emails cargados")
+            .register(meterRegistry);
+        Gauge.builder("ordersystem.customers.email_filter.entries", entries, LongAdder::sum)
+            .description("Emails agregados al filtro")
+            .register(meterRegistry);
+        Gauge.builder("ordersystem.customers.email_filter.memory", this, CustomerEmailFilter::memoryBytes)
+            .description("Memoria ocupada por el arreglo de bits del filtro")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Carga los emails existentes por lotes; si falla, el filtro queda inactivo y se consulta siempre la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        long afterId = 0L;
+        try {
+            List<CustomerEmailView> batch;
+            do {
+                batch = customerRepository.findEmailsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (CustomerEmailView customer : batch) {
+                    add(customer.email());
+                    afterId = customer.id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo cargar el filtro de emails de clientes; se consultará la base de datos: {}", ex.getMessage());
+            return;
+        }
+        loaded = true;
+        log.info("Filtro de emails de clientes cargado: {} emails, {} KiB, {} funciones hash, en {} ms",
+            entries.sum(), memoryBytes() / 1024, hashCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * false si el email seguro no pertenece a un cliente existente; true si puede pertenecer
+     */
+    public boolean mightContain(String email) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                negatives.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registra el resultado de la consulta a la base de datos tras un "puede existir"
+     */
+    public void recordLookup(boolean exists) {
+        if (!loaded) {
+            return;
+        }
+        (exists ? duplicates : falsePositives).increment();
+    }
+
+    /**
+     * Agrega el email de un cliente nuevo
+     * Se llama antes de confirmar la transacción: si se revierte, el email queda como falso positivo
+     */
+    public void add(String email) {
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            long mask = 1L << index;
+            bits.getAndAccumulate((int) (index >>> 6), mask, (current, bit) -> current | bit);
+        }
+        entries.increment();
+    }
+
+    /**
+     * (1 - e^(-k n / m))^k para los n emails agregados
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * entries.sum() / bitCount), hashCount);
+    }
+
+    public long memoryBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ordersystem.customers.email_filter.checks")
+            .description("Consultas al filtro de emails de clientes por resultado")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido del finalizador de MurmurHash3, que reparte los bits para el doble hashing
+     */
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            hash ^= email.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
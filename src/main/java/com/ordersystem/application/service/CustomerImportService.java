@@ -0,0 +1,349 @@
+package com.ordersystem.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.api.dto.request.CreateCustomerRequest;
+import com.ordersystem.api.dto.response.CustomerImportResponse;
+import com.ordersystem.api.dto.response.CustomerImportRowResponse;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de clientes desde un archivo CSV o NDJSON
+ *
+ * El archivo se lee línea a línea y se procesa en bloques de {@code customers.import.chunk-size}:
+ * los emails repetidos dentro del archivo se descartan al leerlos, los ya existentes se buscan con
+ * un IN por bloque (solo los que {@link CustomerEmailFilter} no descarta) y el resto se inserta en
+ * una transacción por bloque, con los INSERT agrupados en lotes JDBC. La memoria usada depende del
+ * tamaño del bloque y de los emails distintos del archivo, no del tamaño de los clientes importados.
+ *
+ * Si un bloque choca con la restricción única (un email creado en paralelo), se reintenta fila a fila.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Resuelve el formato a partir del Content-Type ({@code text/csv} o {@code application/x-ndjson})
+         */
+        public static Format from(MediaType contentType) {
+            if (contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                return CSV;
+            }
+            if (contentType.isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Formato de importación no soportado: " + contentType);
+        }
+    }
+
+    private final CustomerRepository customerRepository;
+    private final CustomerEmailFilter emailFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Cantidad de clientes verificados e insertados por transacción
+     */
+    @Value("${customers.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Máximo de filas rechazadas detalladas en la respuesta; el resto solo se cuenta
+     */
+    @Value("${customers.import.max-reported-rows:1000}")
+    private int maxReportedRows;
+
+    @PostConstruct
+    void validateConfiguration() {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("customers.import.chunk-size debe ser mayor a 0");
+        }
+    }
+
+    public CustomerImportResponse importCustomers(InputStream input, Format format) throws IOException {
+        LineNumberReader reader = new LineNumberReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowParser parser = format == Format.CSV
+            ? CsvRowParser.fromHeader(nextLine(reader))
+            : line -> objectMapper.readValue(line, CreateCustomerRequest.class);
+
+        ImportReport report = new ImportReport(maxReportedRows);
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingCustomer> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = nextLine(reader)) != null) {
+            long lineNumber = reader.getLineNumber();
+            CreateCustomerRequest request;
+            try {
+                request = parser.parse(line);
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                report.reject(lineNumber, null, CustomerImportRowResponse.Outcome.INVALID, "Fila ilegible: " + ex.getMessage());
+                continue;
+            }
+
+            String error = validate(request);
+            if (error != null) {
+                report.reject(lineNumber, request.getEmail(), CustomerImportRowResponse.Outcome.INVALID, error);
+            } else if (!seenEmails.add(request.getEmail())) {
+                report.reject(lineNumber, request.getEmail(), CustomerImportRowResponse.Outcome.DUPLICATE,
+                    "Email repetido en el archivo");
+            } else {
+                chunk.add(new PendingCustomer(lineNumber, request));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        log.info("Importación de clientes ({}) procesada: {} creados, {} duplicados, {} inválidos, {} con error",
+            format, report.created, report.duplicates, report.invalid, report.failed);
+        return report.toResponse();
+    }
+
+    /**
+     * Descarta los emails ya existentes e inserta el resto del bloque en una transacción
+     */
+    private void importChunk(List<PendingCustomer> chunk, ImportReport report) {
+        List<String> candidates = chunk.stream()
+            .map(pending -> pending.request().getEmail())
+            .filter(emailFilter::mightContain)
+            .toList();
+        Set<String> existing = candidates.isEmpty()
+            ? Set.of()
+            : new HashSet<>(customerRepository.findExistingEmails(candidates));
+        candidates.forEach(email -> emailFilter.recordLookup(existing.contains(email)));
+
+        List<PendingCustomer> accepted = new ArrayList<>(chunk.size());
+        for (PendingCustomer pending : chunk) {
+            if (existing.contains(pending.request().getEmail())) {
+                report.reject(pending.line(), pending.request().getEmail(), CustomerImportRowResponse.Outcome.DUPLICATE,
+                    "Ya existe un cliente con el email: " + pending.request().getEmail());
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(accepted));
+            report.created += accepted.size();
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Error al persistir un bloque de {} clientes, se reintenta fila a fila: {}", accepted.size(), ex.getMessage());
+            accepted.forEach(pending -> importOne(pending, report));
+        }
+    }
+
+    private void importOne(PendingCustomer pending, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+            report.created++;
+        } catch (DataIntegrityViolationException ex) {
+            report.reject(pending.line(), pending.request().getEmail(), CustomerImportRowResponse.Outcome.DUPLICATE,
+                "Ya existe un cliente con el email: " + pending.request().getEmail());
+        } catch (DataAccessException | TransactionException ex) {
+            report.reject(pending.line(), pending.request().getEmail(), CustomerImportRowResponse.Outcome.FAILED,
+                "No se pudo persistir el cliente: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * El flush al confirmar la transacción agrupa los INSERT; los emails entran al filtro antes del commit
+     */
+    private void persist(List<PendingCustomer> pending) {
+        List<Customer> customers = pending.stream()
+            .map(p -> Customer.builder()
+                .name(p.request().getName())
+                .email(p.request().getEmail())
+                .build())
+            .toList();
+        customerRepository.saveAll(customers);
+        customers.forEach(customer -> emailFilter.add(customer.getEmail()));
+    }
+
+    /**
+     * Valida una fila y devuelve el mensaje de error, o null si es válida
+     */
+    private String validate(CreateCustomerRequest request) {
+        if (request == null) {
+            return "La fila no puede ser null";
+        }
+        Set<ConstraintViolation<CreateCustomerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Siguiente línea no vacía, o null al final del archivo
+     */
+    private static String nextLine(LineNumberReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private record PendingCustomer(long line, CreateCustomerRequest request) {
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+
+        CreateCustomerRequest parse(String line) throws JsonProcessingException;
+    }
+
+    /**
+     * CSV (RFC 4180) con encabezado; las columnas {@code name} y {@code email} pueden estar en cualquier orden
+     * Los campos entre comillas no pueden contener saltos de línea
+     */
+    private static final class CsvRowParser implements RowParser {
+
+        private final int nameColumn;
+        private final int emailColumn;
+
+        private CsvRowParser(int nameColumn, int emailColumn) {
+            this.nameColumn = nameColumn;
+            this.emailColumn = emailColumn;
+        }
+
+        static CsvRowParser fromHeader(String header) {
+            List<String> columns = header != null
+                ? split(header).stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList()
+                : List.of();
+            if (!columns.contains("name") || !columns.contains("email")) {
+                throw new IllegalArgumentException("El CSV debe comenzar con un encabezado con las columnas name y email");
+            }
+            return new CsvRowParser(columns.indexOf("name"), columns.indexOf("email"));
+        }
+
+        @Override
+        public CreateCustomerRequest parse(String line) {
+            List<String> fields = split(line);
+            if (fields.size() <= Math.max(nameColumn, emailColumn)) {
+                throw new IllegalArgumentException("se esperaban al menos " + (Math.max(nameColumn, emailColumn) + 1)
+                    + " columnas y hay " + fields.size());
+            }
+            return new CreateCustomerRequest(fields.get(nameColumn).trim(), fields.get(emailColumn).trim());
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("comillas sin cerrar");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Conteos de la importación y detalle acotado de las filas rechazadas
+     */
+    private static final class ImportReport {
+
+        private final int maxReportedRows;
+        private final List<CustomerImportRowResponse> rejected = new ArrayList<>();
+        private int created;
+        private int duplicates;
+        private int invalid;
+        private int failed;
+
+        ImportReport(int maxReportedRows) {
+            this.maxReportedRows = maxReportedRows;
+        }
+
+        void reject(long line, String email, CustomerImportRowResponse.Outcome outcome, String error) {
+            switch (outcome) {
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+            if (rejected.size() < maxReportedRows) {
+                rejected.add(CustomerImportRowResponse.builder()
+                    .line(line)
+                    .email(email)
+                    .outcome(outcome)
+                    .error(error)
+                    .build());
+            }
+        }
+
+        CustomerImportResponse toResponse() {
+            int rejectedCount = duplicates + invalid + failed;
+            return CustomerImportResponse.builder()
+                .total(created + rejectedCount)
+                .created(created)
+                .duplicates(duplicates)
+                .invalid(invalid)
+                .failed(failed)
+                .rejected(rejected)
+                .rejectedTruncated(rejectedCount > rejected.size())
+                .build();
+        }
+    }
+}
@@ -6,27 +6,46 @@ import com.ordersystem.domain.exception.BusinessRuleException;
 import com.ordersystem.domain.exception.EntityNotFoundException;
 import com.ordersystem.domain.model.Customer;
 import com.ordersystem.domain.repository.CustomerRepository;
+import com.ordersystem.infrastructure.cache.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
 
+/**
+ * Servicio de clientes
+ *
+ * Las lecturas por ID y por email se sirven desde caché ({@link CacheConfig}); al crear un
+ * cliente se carga en ambas cachés una vez confirmada la transacción.
+ *
+ * La unicidad del email se comprueba primero contra {@link CustomerEmailFilter}; solo un posible
+ * duplicado se consulta en la base de datos, y la restricción única resuelve los casos restantes.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CacheManager cacheManager;
+    private final CustomerEmailFilter emailFilter;
 
     @SuppressWarnings("null") // JPA save() siempre retorna un objeto no-null
+    @Caching(put = {
+        @CachePut(cacheNames = CacheConfig.CUSTOMERS_BY_ID, key = "#result.id"),
+        @CachePut(cacheNames = CacheConfig.CUSTOMERS_BY_EMAIL, key = "#result.email")
+    })
     public CustomerResponse createCustomer(CreateCustomerRequest request) {
-        // Validar que el email no exista
-        if (customerRepository.existsByEmail(request.getEmail())) {
-            throw new BusinessRuleException(
-                "DUPLICATE_EMAIL",
-                "Ya existe un cliente con el email: " + request.getEmail()
-            );
+        // Validar que el email no exista (un cliente en caché es duplicado sin ir a la base de datos)
+        if (isCachedEmail(request.getEmail()) || isKnownEmail(request.getEmail())) {
+            throw duplicateEmail(request.getEmail());
         }
 
         Customer customer = Customer.builder()
@@ -34,12 +53,20 @@ public class CustomerService {
             .email(request.getEmail())
             .build();
 
-        Customer saved = customerRepository.save(customer);
+        Customer saved;
+        try {
+            // flush inmediato: un email creado por otra petición o nodo se detecta aquí por la restricción única
+            saved = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateEmail(request.getEmail());
+        }
+        emailFilter.add(saved.getEmail());
         // JPA save siempre retorna un objeto no-null
         return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS_BY_ID, key = "#id")
     public CustomerResponse getCustomerById(Long id) {
         Customer customer = customerRepository.findById(Objects.requireNonNull(id, "El ID del cliente no puede ser null"))
             .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
@@ -48,6 +75,7 @@ public class CustomerService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS_BY_EMAIL, key = "#email")
     public CustomerResponse getCustomerByEmail(String email) {
         Customer customer = customerRepository.findByEmail(email)
             .orElseThrow(() -> new EntityNotFoundException("Cliente", email));
@@ -55,6 +83,30 @@ public class CustomerService {
         return mapToResponse(customer);
     }
 
+    private boolean isCachedEmail(String email) {
+        Cache byEmail = cacheManager.getCache(CacheConfig.CUSTOMERS_BY_EMAIL);
+        return byEmail != null && byEmail.get(email) != null;
+    }
+
+    /**
+     * Consulta la base de datos solo si el filtro indica que el email puede existir
+     */
+    private boolean isKnownEmail(String email) {
+        if (!emailFilter.mightContain(email)) {
+            return false;
+        }
+        boolean exists = customerRepository.existsByEmail(email);
+        emailFilter.recordLookup(exists);
+        return exists;
+    }
+
+    private BusinessRuleException duplicateEmail(String email) {
+        return new BusinessRuleException(
+            "DUPLICATE_EMAIL",
+            "Ya existe un cliente con el email: " + email
+        );
+    }
+
     private CustomerResponse mapToResponse(Customer customer) {
         return CustomerResponse.builder()
             .id(customer.getId())
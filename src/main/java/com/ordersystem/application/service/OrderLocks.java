@@ -0,0 +1,89 @@
+package com.ordersystem.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks en memoria por orden, repartidos en un número fijo de franjas (lock striping)
+ *
+ * Serializan dentro del nodo las operaciones que leen y modifican el acumulado de pagos de una orden,
+ * sin bloquear filas en la base de datos. Órdenes en franjas distintas avanzan en paralelo; dos órdenes
+ * en la misma franja solo comparten el lock. Entre nodos la consistencia la garantiza el versionado
+ * optimista de {@code Order} y {@code Payment}.
+ *
+ * Deben tomarse fuera de la transacción, para que la siguiente operación sobre la orden lea lo que
+ * confirmó la anterior.
+ */
+@Component
+public class OrderLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public OrderLocks(@Value("${payment.concurrency.lock-stripes:256}") int stripes,
+                      @Value("${payment.concurrency.lock-timeout-ms:5000}") long timeoutMs) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("La cantidad de franjas debe ser mayor a 0");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Ejecuta la acción con el lock de la orden
+     */
+    public <T> T withLock(Long orderId, Supplier<T> action) {
+        return withLocks(List.of(orderId), action);
+    }
+
+    /**
+     * Ejecuta la acción con los locks de todas las órdenes indicadas
+     * Las franjas se toman en orden ascendente para evitar interbloqueos entre operaciones concurrentes
+     */
+    public <T> T withLocks(Collection<Long> orderIds, Supplier<T> action) {
+        int[] indexes = orderIds.stream()
+            .mapToInt(this::stripeIndex)
+            .distinct()
+            .sorted()
+            .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                if (!tryLock(stripes[index])) {
+                    throw new ConcurrencyFailureException(
+                        "No se pudo obtener el lock de la orden en " + timeoutMs + " ms; reintente la operación");
+                }
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int stripeIndex(Long orderId) {
+        return Math.floorMod(Long.hashCode(orderId), stripes.length);
+    }
+}
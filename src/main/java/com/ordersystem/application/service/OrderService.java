@@ -1,27 +1,56 @@
 package com.ordersystem.application.service;
 
 import com.ordersystem.api.dto.request.CreateOrderRequest;
+import com.ordersystem.api.dto.response.CursorPageResponse;
+import com.ordersystem.api.dto.response.CustomerResponse;
+import com.ordersystem.api.dto.response.OrderBatchItemResponse;
+import com.ordersystem.api.dto.response.OrderBatchResponse;
 import com.ordersystem.api.dto.response.OrderItemResponse;
 import com.ordersystem.api.dto.response.OrderResponse;
 import com.ordersystem.api.dto.response.OrderStateHistoryResponse;
 import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.event.OrderCancelledEvent;
 import com.ordersystem.domain.event.OrderConfirmedEvent;
 import com.ordersystem.domain.event.OrderPaidEvent;
 import com.ordersystem.domain.exception.EntityNotFoundException;
 import com.ordersystem.domain.model.Customer;
 import com.ordersystem.domain.model.Order;
 import com.ordersystem.domain.model.OrderItem;
+import com.ordersystem.domain.model.OrderStateHistory;
 import com.ordersystem.domain.repository.CustomerRepository;
 import com.ordersystem.domain.repository.OrderRepository;
+import com.ordersystem.domain.repository.OrderStateHistoryRepository;
+import com.ordersystem.domain.repository.projection.OrderItemView;
+import com.ordersystem.domain.repository.projection.OrderStateHistoryView;
+import com.ordersystem.domain.repository.projection.OrderView;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,85 +60,219 @@ import java.util.stream.Collectors;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderStateHistoryRepository stateHistoryRepository;
     private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
+    private final TerminalOrderCache terminalOrderCache;
+    private final OrderLocks orderLocks;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    /**
+     * Cantidad de órdenes persistidas por transacción en la creación por lotes
+     */
+    @Value("${order.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @PostConstruct
+    void validateConfiguration() {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("order.batch.chunk-size debe ser mayor a 0");
+        }
+    }
 
     @SuppressWarnings("null") // JPA save() siempre retorna un objeto no-null
     public OrderResponse createOrder(CreateOrderRequest request) {
-        // Validar que el cliente existe
+        // Validar que el cliente existe (desde la caché de clientes) y asociarlo por referencia, sin cargarlo
         Long customerId = Objects.requireNonNull(request.getCustomerId(), "El ID del cliente no puede ser null");
-        Customer customer = customerRepository.findById(customerId)
-            .orElseThrow(() -> new EntityNotFoundException("Cliente", customerId));
+        CustomerResponse customer = customerService.getCustomerById(customerId);
 
-        // Crear la orden
-        Order order = Order.builder()
-            .customer(customer)
-            .status(OrderStatus.CREATED)
-            .build();
-
-        // Agregar ítems y calcular total
-        request.getItems().forEach(itemRequest -> {
-            OrderItem item = OrderItem.builder()
-                .productName(itemRequest.getProductName())
-                .quantity(itemRequest.getQuantity())
-                .unitPrice(itemRequest.getUnitPrice())
-                .build();
-            
-            order.addItem(item);
-        });
+        Order order = buildOrder(customerRepository.getReferenceById(customerId), request);
 
         Order saved = orderRepository.save(order);
         // JPA save siempre retorna un objeto no-null
-        return mapToResponse(saved);
+        return mapToResponse(saved, customer.getId(), customer.getName(), customer.getEmail(), true);
     }
 
-    public OrderResponse confirmOrder(Long orderId) {
-        Order order = orderRepository.findByIdWithItems(Objects.requireNonNull(orderId, "El ID de la orden no puede ser null"))
-            .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
+    /**
+     * Crea un lote de órdenes
+     *
+     * Los clientes referenciados se resuelven en una sola consulta y las órdenes se persisten
+     * en bloques de {@code order.batch.chunk-size}, cada uno en su propia transacción, para
+     * aprovechar los INSERT por lotes de JDBC. Una orden inválida no impide crear el resto;
+     * si falla la escritura de un bloque, solo las órdenes de ese bloque se reportan con error.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderBatchResponse createOrders(List<CreateOrderRequest> requests) {
+        OrderBatchItemResponse[] results = new OrderBatchItemResponse[requests.size()];
+
+        // Resolver todos los clientes del lote en una sola consulta
+        Set<Long> customerIds = requests.stream()
+            .filter(Objects::nonNull)
+            .map(CreateOrderRequest::getCustomerId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> existingCustomerIds = customerIds.isEmpty()
+            ? Set.of()
+            : new HashSet<>(customerRepository.findExistingIds(customerIds));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateBatchEntry(requests.get(i), existingCustomerIds);
+            if (error != null) {
+                results[i] = batchFailure(i, error);
+            } else {
+                accepted.add(i);
+            }
+        }
 
-        // Guardar el estado anterior para verificar si cambió
-        OrderStatus previousStatus = order.getStatus();
+        for (int from = 0; from < accepted.size(); from += batchChunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchChunkSize, accepted.size()));
+            try {
+                List<Order> saved = transactionTemplate.execute(status -> persistChunk(chunk, requests));
+                for (int j = 0; j < chunk.size(); j++) {
+                    Order order = saved.get(j);
+                    results[chunk.get(j)] = OrderBatchItemResponse.builder()
+                        .index(chunk.get(j))
+                        .success(true)
+                        .orderId(order.getId())
+                        .totalAmount(order.getTotalAmount())
+                        .build();
+                }
+            } catch (DataAccessException | TransactionException ex) {
+                log.warn("Error al persistir un bloque de {} órdenes: {}", chunk.size(), ex.getMessage());
+                for (Integer index : chunk) {
+                    results[index] = batchFailure(index, "No se pudo persistir la orden: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
 
-        // La validación del estado y cambio se realiza en el método confirm() de la entidad
-        // El método es idempotente: si ya está confirmada, no hace nada
-        order.confirm();
+        List<OrderBatchItemResponse> resultList = List.of(results);
+        int created = (int) resultList.stream().filter(OrderBatchItemResponse::isSuccess).count();
+        log.info("Lote de órdenes procesado: {} creadas, {} con error", created, requests.size() - created);
 
-        Order saved = orderRepository.save(order);
-        // JPA save siempre retorna un objeto no-null
+        return OrderBatchResponse.builder()
+            .total(requests.size())
+            .created(created)
+            .failed(requests.size() - created)
+            .results(resultList)
+            .build();
+    }
+
+    public OrderResponse confirmOrder(Long orderId) {
+        Objects.requireNonNull(orderId, "El ID de la orden no puede ser null");
+
+        // La validación del estado se realiza con la regla confirm() de la entidad
+        // Idempotente: si ya está confirmada, no hace nada
+        boolean changed = transitionStatus(orderId, OrderStatus.CONFIRMED, Order::confirm);
+        OrderResponse response = loadOrderResponse(orderId);
 
         // Emitir evento solo si el estado cambió
-        if (previousStatus != saved.getStatus()) {
-            eventPublisher.publishEvent(new OrderConfirmedEvent(this, saved.getId(), saved.getCustomer().getId()));
-            log.info("Orden {} confirmada - Evento emitido", saved.getId());
+        if (changed) {
+            eventPublisher.publishEvent(new OrderConfirmedEvent(this, orderId, response.getCustomerId()));
+            log.info("Orden {} confirmada - Evento emitido", orderId);
         }
 
-        return mapToResponse(saved);
+        return response;
     }
 
     public OrderResponse cancelOrder(Long orderId) {
-        Order order = orderRepository.findByIdWithItems(orderId)
-            .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
+        // La validación del estado se realiza con la regla cancel() de la entidad
+        // Idempotente: si ya está cancelada, no hace nada
+        boolean changed = transitionStatus(orderId, OrderStatus.CANCELLED, Order::cancel);
 
-        // La validación del estado se realiza en el método cancel() de la entidad
-        // El método es idempotente: si ya está cancelada, no hace nada
-        order.cancel();
+        OrderResponse response = loadOrderResponse(orderId);
+        if (changed) {
+            eventPublisher.publishEvent(new OrderCancelledEvent(this, orderId, response.getCustomerId()));
+        }
+        terminalOrderCache.putOrder(response);
+        return response;
+    }
 
-        Order saved = orderRepository.save(order);
-        // JPA save siempre retorna un objeto no-null
-        return mapToResponse(saved);
+    /**
+     * Cancela, de las órdenes indicadas, las que siguen en alguno de {@code statuses}, fueron creadas
+     * antes de {@code cutoff} y no tienen pagos aprobados ni PENDING, con la regla cancel() de la entidad
+     *
+     * Usado por la cancelación de órdenes vencidas con un bloque acotado por llamada. Toma los locks de
+     * las órdenes del bloque fuera de la transacción, igual que las operaciones de pago, por lo que una
+     * aprobación o un pago nuevo de la misma orden en este nodo se ejecuta antes o después del bloque, y
+     * las condiciones se vuelven a evaluar dentro de la transacción. Los UPDATE de las órdenes (con su
+     * versión) y los INSERT del historial se agrupan en lotes JDBC al confirmar; una escritura concurrente
+     * desde otro nodo sobre alguna orden hace fallar el bloque completo por versión.
+     *
+     * @return cantidad de órdenes canceladas por estado de origen
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<OrderStatus, Integer> cancelStaleOrders(Collection<Long> orderIds, Collection<OrderStatus> statuses,
+                                                       LocalDateTime cutoff) {
+        return orderLocks.withLocks(orderIds,
+            () -> transactionTemplate.execute(status -> doCancelStaleOrders(orderIds, statuses, cutoff)));
+    }
+
+    private Map<OrderStatus, Integer> doCancelStaleOrders(Collection<Long> orderIds, Collection<OrderStatus> statuses,
+                                                          LocalDateTime cutoff) {
+        Map<OrderStatus, Integer> cancelled = new EnumMap<>(OrderStatus.class);
+        for (Order order : orderRepository.findAllByIdInAndStatusInCreatedBefore(orderIds, statuses, cutoff)) {
+            OrderStatus previousStatus = order.getStatus();
+            order.cancel();
+            cancelled.merge(previousStatus, 1, Integer::sum);
+            // El ID del cliente se lee del proxy sin cargarlo
+            eventPublisher.publishEvent(new OrderCancelledEvent(this, order.getId(), order.getCustomer().getId()));
+        }
+        return cancelled;
     }
 
     public OrderResponse markOrderAsShipped(Long orderId) {
-        Order order = orderRepository.findByIdWithItems(orderId)
-            .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
+        // La validación del estado se realiza con la regla markAsShipped() de la entidad
+        // Idempotente: si ya está enviada, no hace nada
+        transitionStatus(orderId, OrderStatus.SHIPPED, Order::markAsShipped);
 
-        // La validación del estado se realiza en el método markAsShipped() de la entidad
-        // El método es idempotente: si ya está enviada, no hace nada
-        order.markAsShipped();
+        OrderResponse response = loadOrderResponse(orderId);
+        terminalOrderCache.putOrder(response);
+        return response;
+    }
 
-        Order saved = orderRepository.save(order);
-        // JPA save siempre retorna un objeto no-null
-        return mapToResponse(saved);
+    /**
+     * Transición de estado sin cargar la orden: lectura del estado, un UPDATE condicional y el INSERT del historial
+     *
+     * Las reglas son las de la entidad: {@code rule} se aplica sobre una orden transitoria con el estado
+     * leído, lo que valida la transición (con la misma excepción que la entidad) y arma la entrada del
+     * historial con su estado anterior; por eso el estado se lee antes, en lugar de un único UPDATE sobre
+     * todos los estados de origen válidos. El UPDATE solo afecta la fila si la orden sigue en el estado leído
+     * e incrementa su versión, por lo que una escritura optimista concurrente falla. Si otra transición ganó
+     * entre la lectura y el UPDATE, se vuelve a leer el estado: si ya es el destino no hay cambio (idempotencia),
+     * si no, la transición falla por concurrencia.
+     *
+     * @return true si el estado cambió, false si la orden ya estaba en el estado destino
+     */
+    private boolean transitionStatus(Long orderId, OrderStatus target, Consumer<Order> rule) {
+        OrderStatus current = currentStatus(orderId);
+        if (current == target) {
+            return false;
+        }
+
+        // Lanza InvalidStateTransitionException si la transición no es válida desde el estado actual
+        Order probe = Order.builder().status(current).build();
+        rule.accept(probe);
+
+        if (orderRepository.updateStatusIfCurrent(orderId, current, target) == 0) {
+            if (currentStatus(orderId) == target) {
+                return false;
+            }
+            throw new ConcurrencyFailureException(
+                String.format("La orden %d cambió de estado durante la transición a %s", orderId, target));
+        }
+
+        OrderStateHistory history = probe.getStateHistory().get(0);
+        history.setOrder(orderRepository.getReferenceById(orderId));
+        stateHistoryRepository.save(history);
+        return true;
+    }
+
+    private OrderStatus currentStatus(Long orderId) {
+        return orderRepository.findStatusById(orderId)
+            .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
     }
 
     /**
@@ -140,49 +303,271 @@ public class OrderService {
         }
     }
 
+    /**
+     * Lee la orden con proyecciones (orden, ítems), sin cargar entidades en el contexto de persistencia
+     * El historial solo se consulta con {@code includeHistory}; la caché de {@link TerminalOrderCache}
+     * guarda la orden sin historial, que se agrega en cada lectura que lo pide
+     *
+     * La caché se consulta antes de abrir la transacción: un acierto sin historial no toma una conexión del pool.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponse getOrderById(Long orderId, boolean includeHistory) {
+        Optional<OrderResponse> cached = terminalOrderCache.getOrder(orderId);
+        if (cached.isPresent() && !includeHistory) {
+            return cached.get();
+        }
+
+        return readOnly(() -> {
+            OrderResponse response = cached.orElseGet(() -> {
+                OrderResponse loaded = loadOrderResponse(orderId);
+                terminalOrderCache.putOrder(loaded);
+                return loaded;
+            });
+            if (includeHistory) {
+                response.setStateHistory(orderRepository.findHistoryViewsByOrderId(orderId).stream()
+                    .map(this::mapToHistoryResponse)
+                    .collect(Collectors.toList()));
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Historial de estados de una orden paginado por cursor, en orden cronológico
+     * El cursor es el ID de la última entrada devuelta
+     */
     @Transactional(readOnly = true)
-    public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findByIdWithItemsAndCustomer(orderId)
+    public CursorPageResponse<OrderStateHistoryResponse> getOrderHistory(Long orderId, Long afterId, int size) {
+        int pageSize = CursorPagination.resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<OrderStateHistoryView> entries = afterId == null
+            ? stateHistoryRepository.findByOrderIdOrderByTimestampAsc(orderId, limit)
+            : stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(orderId, afterId, limit);
+
+        // Solo una página vacía requiere distinguir una orden sin historial de una orden inexistente
+        if (entries.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException("Orden", orderId);
+        }
+
+        boolean hasMore = entries.size() > pageSize;
+        List<OrderStateHistoryResponse> content = (hasMore ? entries.subList(0, pageSize) : entries).stream()
+            .map(this::mapToHistoryResponse)
+            .collect(Collectors.toList());
+
+        return CursorPageResponse.<OrderStateHistoryResponse>builder()
+            .content(content)
+            .size(content.size())
+            .nextCursor(hasMore ? content.get(content.size() - 1).getId() : null)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    /**
+     * Ejecuta la lectura en una transacción de solo lectura, para los métodos que no abren la suya
+     */
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> read.get());
+    }
+
+    private OrderResponse loadOrderResponse(Long orderId) {
+        OrderView order = orderRepository.findViewById(orderId)
             .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
 
-        return mapToResponse(order);
+        return mapToResponse(order, orderRepository.findItemViewsByOrderId(orderId), null);
     }
 
+    /**
+     * Lista las órdenes de un cliente paginando por cursor sobre el ID
+     * Cada página se resuelve con un número fijo de consultas, sin importar su tamaño
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByCustomerId(Long customerId) {
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        // Cargar todas las relaciones necesarias dentro de la transacción
-        return orders.stream()
-            .map(order -> {
-                // Forzar la carga de relaciones lazy dentro de la transacción
-                order.getItems().size(); // Inicializar la colección
-                order.getStateHistory().size(); // Inicializar la colección
-                if (order.getCustomer() != null) {
-                    order.getCustomer().getName(); // Inicializar la relación
-                }
-                return mapToResponse(order);
-            })
-            .collect(Collectors.toList());
+    public CursorPageResponse<OrderResponse> getOrdersByCustomerId(Long customerId, Long afterId, int size,
+                                                                   boolean includeHistory) {
+        int pageSize = CursorPagination.resolvePageSize(size);
+        List<Long> ids = orderRepository.findIdsByCustomerIdAfter(
+            customerId, resolveCursor(afterId), Limit.of(pageSize + 1));
+        return loadPage(ids, pageSize, includeHistory);
     }
 
+    /**
+     * Lista las órdenes en un estado paginando por cursor sobre el ID
+     * Cada página se resuelve con un número fijo de consultas, sin importar su tamaño
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByStatus(OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatus(status);
-        // Cargar todas las relaciones necesarias dentro de la transacción
-        return orders.stream()
-            .map(order -> {
-                // Forzar la carga de relaciones lazy dentro de la transacción
-                order.getItems().size(); // Inicializar la colección
-                order.getStateHistory().size(); // Inicializar la colección
-                if (order.getCustomer() != null) {
-                    order.getCustomer().getName(); // Inicializar la relación
-                }
-                return mapToResponse(order);
-            })
+    public CursorPageResponse<OrderResponse> getOrdersByStatus(OrderStatus status, Long afterId, int size,
+                                                               boolean includeHistory) {
+        int pageSize = CursorPagination.resolvePageSize(size);
+        List<Long> ids = orderRepository.findIdsByStatusAfter(
+            status, resolveCursor(afterId), Limit.of(pageSize + 1));
+        return loadPage(ids, pageSize, includeHistory);
+    }
+
+    private Order buildOrder(Customer customer, CreateOrderRequest request) {
+        // Crear la orden
+        Order order = Order.builder()
+            .customer(customer)
+            .status(OrderStatus.CREATED)
+            .build();
+
+        // Agregar ítems y calcular total
+        request.getItems().forEach(itemRequest -> {
+            OrderItem item = OrderItem.builder()
+                .productName(itemRequest.getProductName())
+                .quantity(itemRequest.getQuantity())
+                .unitPrice(itemRequest.getUnitPrice())
+                .build();
+            
+            order.addItem(item);
+        });
+
+        return order;
+    }
+
+    /**
+     * Valida una orden del lote y devuelve el mensaje de error, o null si es válida
+     */
+    private String validateBatchEntry(CreateOrderRequest request, Set<Long> existingCustomerIds) {
+        if (request == null) {
+            return "La orden no puede ser null";
+        }
+
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+
+        if (!existingCustomerIds.contains(request.getCustomerId())) {
+            return new EntityNotFoundException("Cliente", request.getCustomerId()).getMessage();
+        }
+
+        return null;
+    }
+
+    /**
+     * Persiste un bloque de órdenes; el flush al confirmar la transacción agrupa los INSERT
+     * Los clientes ya fueron verificados, por lo que se usan referencias sin consultar la base de datos
+     */
+    private List<Order> persistChunk(List<Integer> chunk, List<CreateOrderRequest> requests) {
+        List<Order> orders = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            CreateOrderRequest request = requests.get(index);
+            Customer customer = customerRepository.getReferenceById(request.getCustomerId());
+            orders.add(buildOrder(customer, request));
+        }
+        return orderRepository.saveAll(orders);
+    }
+
+    private OrderBatchItemResponse batchFailure(int index, String error) {
+        return OrderBatchItemResponse.builder()
+            .index(index)
+            .success(false)
+            .error(error)
+            .build();
+    }
+
+    /**
+     * Carga por lotes los ítems, el cliente y, si se pide, el historial de las órdenes de una página
+     * Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+     */
+    private CursorPageResponse<OrderResponse> loadPage(List<Long> ids, int pageSize, boolean includeHistory) {
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        if (pageIds.isEmpty()) {
+            return CursorPageResponse.<OrderResponse>builder()
+                .content(new ArrayList<>())
+                .size(0)
+                .hasMore(false)
+                .build();
+        }
+
+        List<Order> orders = orderRepository.findAllByIdInWithItemsAndCustomer(pageIds);
+        if (includeHistory) {
+            // Las órdenes ya están en el contexto de persistencia: esta consulta solo inicializa su historial
+            orderRepository.findAllByIdInWithHistory(pageIds);
+        }
+
+        List<OrderResponse> content = orders.stream()
+            .map(order -> mapToResponse(order, includeHistory))
             .collect(Collectors.toList());
+
+        return CursorPageResponse.<OrderResponse>builder()
+            .content(content)
+            .size(content.size())
+            .nextCursor(hasMore ? pageIds.get(pageIds.size() - 1) : null)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    private Long resolveCursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
     }
 
-    private OrderResponse mapToResponse(Order order) {
+    /**
+     * Arma la respuesta desde proyecciones; sin historial ({@code history} null) no se incluye stateHistory
+     * Visibilidad de paquete para el resumen de pagos de {@link PaymentService}
+     */
+    OrderResponse mapToResponse(OrderView order, List<OrderItemView> items, List<OrderStateHistoryView> history) {
+        return OrderResponse.builder()
+            .id(order.id())
+            .customerId(order.customerId())
+            .customerName(order.customerName())
+            .customerEmail(order.customerEmail())
+            .items(items.stream()
+                .map(item -> OrderItemResponse.builder()
+                    .id(item.id())
+                    .productName(item.productName())
+                    .quantity(item.quantity())
+                    .unitPrice(item.unitPrice())
+                    .subtotal(item.subtotal())
+                    .build())
+                .collect(Collectors.toList()))
+            .totalAmount(order.totalAmount())
+            .paidAmount(order.paidAmount())
+            .pendingAmount(order.pendingAmount())
+            .status(order.status())
+            .createdAt(order.createdAt())
+            .stateHistory(history == null ? null : history.stream()
+                .map(this::mapToHistoryResponse)
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    private OrderStateHistoryResponse mapToHistoryResponse(OrderStateHistoryView entry) {
+        return OrderStateHistoryResponse.builder()
+            .id(entry.id())
+            .previousStatus(entry.previousStatus())
+            .newStatus(entry.newStatus())
+            .timestamp(entry.timestamp())
+            .notes(entry.notes())
+            .build();
+    }
+
+    /**
+     * Estático y con visibilidad de paquete para los benchmarks de mapeo (src/jmh/java), que no instancian el servicio
+     */
+    static OrderResponse mapToResponse(Order order) {
+        return mapToResponse(order, true);
+    }
+
+    /**
+     * Sin {@code includeHistory} no se accede a la colección de historial, que queda sin inicializar
+     */
+    private static OrderResponse mapToResponse(Order order, boolean includeHistory) {
+        // Manejar caso donde customer pueda ser null
+        Customer customer = order.getCustomer();
+        return customer != null
+            ? mapToResponse(order, customer.getId(), customer.getName(), customer.getEmail(), includeHistory)
+            : mapToResponse(order, null, null, null, includeHistory);
+    }
+
+    private static OrderResponse mapToResponse(Order order, Long customerId, String customerName, String customerEmail,
+                                               boolean includeHistory) {
         // Manejar caso donde items pueda ser null (aunque no debería)
         List<OrderItemResponse> items = order.getItems() != null ? order.getItems().stream()
             .map(item -> OrderItemResponse.builder()
@@ -195,21 +580,19 @@ public class OrderService {
             .collect(Collectors.toList()) : new ArrayList<>();
 
         // Manejar caso donde stateHistory pueda ser null
-        List<OrderStateHistoryResponse> stateHistory = order.getStateHistory() != null ? 
-            order.getStateHistory().stream()
-                .map(history -> OrderStateHistoryResponse.builder()
-                    .id(history.getId())
-                    .previousStatus(history.getPreviousStatus())
-                    .newStatus(history.getNewStatus())
-                    .timestamp(history.getTimestamp())
-                    .notes(history.getNotes())
-                    .build())
-                .collect(Collectors.toList()) : new ArrayList<>();
-
-        // Manejar caso donde customer pueda ser null
-        Long customerId = order.getCustomer() != null ? order.getCustomer().getId() : null;
-        String customerName = order.getCustomer() != null ? order.getCustomer().getName() : null;
-        String customerEmail = order.getCustomer() != null ? order.getCustomer().getEmail() : null;
+        List<OrderStateHistoryResponse> stateHistory = null;
+        if (includeHistory) {
+            stateHistory = order.getStateHistory() != null ?
+                order.getStateHistory().stream()
+                    .map(history -> OrderStateHistoryResponse.builder()
+                        .id(history.getId())
+                        .previousStatus(history.getPreviousStatus())
+                        .newStatus(history.getNewStatus())
+                        .timestamp(history.getTimestamp())
+                        .notes(history.getNotes())
+                        .build())
+                    .collect(Collectors.toList()) : new ArrayList<>();
+        }
 
         return OrderResponse.builder()
             .id(order.getId())
@@ -218,10 +601,11 @@ public class OrderService {
             .customerEmail(customerEmail)
             .items(items)
             .totalAmount(order.getTotalAmount())
+            .paidAmount(order.getPaidAmount())
+            .pendingAmount(order.getPendingAmount())
             .status(order.getStatus())
             .createdAt(order.getCreatedAt())
             .stateHistory(stateHistory)
             .build();
     }
 }
-
@@ -1,30 +1,58 @@
 package com.ordersystem.application.service;
 
 import com.ordersystem.api.dto.request.CreatePaymentRequest;
+import com.ordersystem.api.dto.request.PaymentSettlementEntryRequest;
+import com.ordersystem.api.dto.response.CursorPageResponse;
 import com.ordersystem.api.dto.response.OrderItemResponse;
 import com.ordersystem.api.dto.response.OrderPaymentSummaryResponse;
 import com.ordersystem.api.dto.response.OrderResponse;
 import com.ordersystem.api.dto.response.PaymentResponse;
+import com.ordersystem.api.dto.response.PaymentSettlementItemResponse;
+import com.ordersystem.api.dto.response.PaymentSettlementResponse;
 import com.ordersystem.api.dto.response.PaymentTransactionResponse;
 import com.ordersystem.domain.enums.OrderStatus;
 import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.event.OrderPaidEvent;
 import com.ordersystem.domain.event.PaymentApprovedEvent;
 import com.ordersystem.domain.event.PaymentFailedEvent;
 import com.ordersystem.domain.exception.BusinessRuleException;
 import com.ordersystem.domain.exception.EntityNotFoundException;
+import com.ordersystem.domain.exception.InvalidStateTransitionException;
 import com.ordersystem.domain.model.Order;
 import com.ordersystem.domain.model.Payment;
 import com.ordersystem.domain.repository.OrderRepository;
 import com.ordersystem.domain.repository.PaymentRepository;
+import com.ordersystem.domain.repository.PaymentTransactionRepository;
+import com.ordersystem.domain.repository.projection.OrderItemRow;
+import com.ordersystem.domain.repository.projection.OrderItemView;
+import com.ordersystem.domain.repository.projection.PaymentTransactionRow;
+import com.ordersystem.domain.repository.projection.PaymentTransactionView;
+import com.ordersystem.domain.repository.projection.PaymentView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,11 +62,26 @@ import java.util.stream.Collectors;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentTransactionRepository transactionRepository;
     private final OrderRepository orderRepository;
     private final OrderService orderService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TerminalOrderCache terminalOrderCache;
+    private final OrderLocks orderLocks;
+    private final TransactionTemplate transactionTemplate;
 
+    @Value("${payment.concurrency.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * Crea un pago pendiente, serializado con las demás operaciones de pago de la orden
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponse createPayment(CreatePaymentRequest request) {
+        return executeSerialized(List.of(request.getOrderId()), () -> doCreatePayment(request));
+    }
+
+    private PaymentResponse doCreatePayment(CreatePaymentRequest request) {
         // Validar que la orden existe
         Order order = orderRepository.findByIdWithItems(request.getOrderId())
             .orElseThrow(() -> new EntityNotFoundException("Orden", request.getOrderId()));
@@ -53,12 +96,8 @@ public class PaymentService {
         }
 
         // Validar que el monto del pago no exceda el monto pendiente
-        BigDecimal totalPaid = paymentRepository.findByOrderId(request.getOrderId()).stream()
-            .filter(p -> p.getStatus() == PaymentStatus.APPROVED)
-            .map(Payment::getAmount)
-            .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-
-        BigDecimal pendingAmount = order.getTotalAmount().subtract(totalPaid);
+        // El acumulado de pagos aprobados se mantiene en la orden, no es necesario cargar sus pagos
+        BigDecimal pendingAmount = order.getPendingAmount();
         if (request.getAmount().compareTo(pendingAmount) > 0) {
             throw new BusinessRuleException(
                 "PAYMENT_AMOUNT_EXCEEDS_PENDING",
@@ -81,13 +120,30 @@ public class PaymentService {
         return mapToResponse(saved);
     }
 
+    /**
+     * Aprueba un pago, serializado con las demás operaciones de pago de la orden
+     * Dos aprobaciones concurrentes de la misma orden no pueden superar ni saltear el umbral de PAID
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponse approvePayment(Long paymentId) {
+        Long orderId = paymentRepository.findOrderIdById(paymentId)
+            .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
+
+        return executeSerialized(List.of(orderId), () -> doApprovePayment(paymentId));
+    }
+
+    private PaymentResponse doApprovePayment(Long paymentId) {
         Payment payment = paymentRepository.findByIdWithTransactions(paymentId)
             .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
 
         // Guardar el estado anterior para verificar si cambió
         PaymentStatus previousStatus = payment.getStatus();
 
+        // Revalidar el pendiente al aprobar: otro pago de la orden pudo aprobarse después de crear este
+        if (previousStatus == PaymentStatus.PENDING) {
+            validateWithinPending(payment.getOrder(), payment.getAmount());
+        }
+
         // La validación del estado y cambio se realiza en el método approve() de la entidad
         // El método es idempotente y registra la transacción automáticamente
         payment.approve();
@@ -107,38 +163,242 @@ public class PaymentService {
             ));
             log.info("Pago {} aprobado - Evento emitido", saved.getId());
 
-            // Verificar si la orden debe marcarse como PAID
-            // Recalcular el total pagado incluyendo el pago recién aprobado
+            // Actualizar el acumulado de la orden en la misma transacción que la aprobación
             Order order = saved.getOrder();
             if (order != null && order.getId() != null) {
-                BigDecimal totalPaid = paymentRepository.findByOrderId(order.getId()).stream()
-                    .filter(p -> p.getStatus() == PaymentStatus.APPROVED)
-                    .map(Payment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                order.registerApprovedPayment(saved.getAmount());
 
                 // Si el total pagado es mayor o igual al total de la orden, marcar como PAID
-                if (order.getTotalAmount() != null && totalPaid.compareTo(order.getTotalAmount()) >= 0) {
+                if (order.isFullyPaid()) {
                     orderService.markOrderAsPaidInternal(order.getId());
                 }
+                terminalOrderCache.evict(order.getId());
             }
         }
 
         return mapToResponse(saved);
     }
 
+    /**
+     * Aplica en una sola transacción una liquidación del proveedor de pagos
+     *
+     * Todos los pagos se cargan en una única consulta junto con sus transacciones y su orden.
+     * Cada transición se valida en la entidad y el acumulado de cada orden se actualiza en memoria,
+     * por lo que cada orden se escribe una sola vez al confirmar. Un pago con error no impide
+     * aplicar el resto. Los eventos se registran en el outbox dentro de la misma transacción y
+     * el relay los despacha una vez confirmada.
+     *
+     * Toma los locks de todas las órdenes involucradas, igual que {@link #approvePayment}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaymentSettlementResponse settlePayments(List<PaymentSettlementEntryRequest> entries) {
+        Set<Long> paymentIds = entries.stream()
+            .map(PaymentSettlementEntryRequest::getPaymentId)
+            .collect(Collectors.toSet());
+        List<Long> orderIds = paymentRepository.findOrderIdsByIdIn(paymentIds);
+
+        return executeSerialized(orderIds, () -> doSettlePayments(entries, paymentIds));
+    }
+
+    private PaymentSettlementResponse doSettlePayments(List<PaymentSettlementEntryRequest> entries, Set<Long> paymentIds) {
+        Map<Long, Payment> payments = paymentRepository.findAllByIdInWithTransactionsAndOrder(paymentIds).stream()
+            .collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        List<PaymentSettlementItemResponse> results = new ArrayList<>(entries.size());
+        List<ApplicationEvent> events = new ArrayList<>();
+        int ordersPaid = 0;
+
+        for (PaymentSettlementEntryRequest entry : entries) {
+            Payment payment = payments.get(entry.getPaymentId());
+            if (payment == null) {
+                results.add(settlementResult(entry.getPaymentId(), null, null,
+                    new EntityNotFoundException("Pago", entry.getPaymentId()).getMessage()));
+                continue;
+            }
+
+            Order order = payment.getOrder();
+            OrderStatus previousOrderStatus = order.getStatus();
+            try {
+                applySettlement(payment, entry.getStatus(), events);
+            } catch (InvalidStateTransitionException | BusinessRuleException ex) {
+                results.add(settlementResult(payment.getId(), order.getId(), payment.getStatus(), ex.getMessage()));
+                continue;
+            }
+
+            if (previousOrderStatus != order.getStatus()) {
+                ordersPaid++;
+                events.add(new OrderPaidEvent(this, order.getId(), order.getCustomer().getId(), order.getTotalAmount()));
+            }
+            terminalOrderCache.evict(order.getId());
+            results.add(settlementResult(payment.getId(), order.getId(), payment.getStatus(), null));
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+
+        int applied = (int) results.stream().filter(PaymentSettlementItemResponse::isSuccess).count();
+        log.info("Liquidación procesada: {} pagos aplicados, {} con error, {} órdenes pagadas",
+            applied, entries.size() - applied, ordersPaid);
+
+        return PaymentSettlementResponse.builder()
+            .total(entries.size())
+            .applied(applied)
+            .failed(entries.size() - applied)
+            .ordersPaid(ordersPaid)
+            .results(results)
+            .build();
+    }
+
+    /**
+     * Aplica la transición de un pago de la liquidación y acumula los eventos a emitir
+     */
+    private void applySettlement(Payment payment, PaymentStatus targetStatus, List<ApplicationEvent> events) {
+        PaymentStatus previousStatus = payment.getStatus();
+        Long orderId = payment.getOrder().getId();
+
+        switch (targetStatus) {
+            case APPROVED -> {
+                Order order = payment.getOrder();
+                if (previousStatus == PaymentStatus.PENDING) {
+                    validateWithinPending(order, payment.getAmount());
+                }
+                if (previousStatus == PaymentStatus.PENDING
+                        && order.getPaidAmount().add(payment.getAmount()).compareTo(order.getTotalAmount()) >= 0) {
+                    // Validar la transición de la orden antes de modificar el pago,
+                    // igual que approvePayment falla si la orden no puede pasar a PAID
+                    order.markAsPaid();
+                }
+                payment.approve();
+                if (previousStatus != payment.getStatus()) {
+                    order.registerApprovedPayment(payment.getAmount());
+                    events.add(new PaymentApprovedEvent(this, payment.getId(), orderId, payment.getAmount()));
+                }
+            }
+            case REJECTED -> payment.reject();
+            case FAILED -> {
+                payment.markAsFailed();
+                if (previousStatus != payment.getStatus()) {
+                    events.add(new PaymentFailedEvent(this, payment.getId(), orderId, payment.getAmount()));
+                }
+            }
+            default -> throw new BusinessRuleException(
+                "INVALID_SETTLEMENT_STATUS",
+                String.format("Estado de liquidación no soportado: %s. Valores permitidos: APPROVED, REJECTED, FAILED",
+                    targetStatus)
+            );
+        }
+    }
+
+    private void validateWithinPending(Order order, BigDecimal amount) {
+        BigDecimal pendingAmount = order.getPendingAmount();
+        if (amount.compareTo(pendingAmount) > 0) {
+            throw new BusinessRuleException(
+                "PAYMENT_AMOUNT_EXCEEDS_PENDING",
+                String.format("El monto del pago (%.2f) excede el monto pendiente (%.2f)",
+                    amount, pendingAmount)
+            );
+        }
+    }
+
+    /**
+     * Ejecuta la operación con los locks de las órdenes y en su propia transacción
+     *
+     * El lock se toma fuera de la transacción, para que cada operación lea lo que confirmó la anterior.
+     * Si otra escritura sobre la orden o el pago gana la carrera (otro nodo, una cancelación), la
+     * transacción falla por versión al confirmar y se reintenta completa hasta
+     * {@code payment.concurrency.max-attempts} veces.
+     */
+    private <T> T executeSerialized(Collection<Long> orderIds, Supplier<T> operation) {
+        return orderLocks.withLocks(orderIds, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> operation.get());
+                } catch (OptimisticLockingFailureException ex) {
+                    if (attempt >= maxAttempts) {
+                        throw ex;
+                    }
+                    log.debug("Conflicto de versión en las órdenes {}, reintento {}/{}", orderIds, attempt + 1, maxAttempts);
+                }
+            }
+        });
+    }
+
+    /**
+     * Marca como fallidos, de los pagos indicados, los que siguen PENDING y fueron creados antes de {@code cutoff}
+     *
+     * Usado por el barrido de pagos vencidos con un bloque acotado por llamada: el bloque se procesa en
+     * su propia transacción, con los locks de sus órdenes, y solo bloquea las filas de sus pagos. Los
+     * UPDATE de los pagos y los INSERT de sus transacciones se agrupan en lotes JDBC al confirmar; los
+     * eventos {@link PaymentFailedEvent} se registran en el outbox y el relay los despacha tras el commit.
+     *
+     * @return cantidad de pagos vencidos
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int expirePendingPayments(Collection<Long> paymentIds, LocalDateTime cutoff) {
+        List<Long> orderIds = paymentRepository.findOrderIdsByIdIn(paymentIds);
+        return executeSerialized(orderIds, () -> doExpirePendingPayments(paymentIds, cutoff));
+    }
+
+    private int doExpirePendingPayments(Collection<Long> paymentIds, LocalDateTime cutoff) {
+        List<Payment> payments = paymentRepository.findAllByIdInAndStatusCreatedBefore(paymentIds, PaymentStatus.PENDING, cutoff);
+        for (Payment payment : payments) {
+            payment.expire();
+            // El ID de la orden se lee del proxy sin cargarla
+            Long orderId = payment.getOrder().getId();
+            eventPublisher.publishEvent(new PaymentFailedEvent(this, payment.getId(), orderId, payment.getAmount()));
+            terminalOrderCache.evict(orderId);
+        }
+        return payments.size();
+    }
+
+    private PaymentSettlementItemResponse settlementResult(Long paymentId, Long orderId, PaymentStatus status, String error) {
+        return PaymentSettlementItemResponse.builder()
+            .paymentId(paymentId)
+            .orderId(orderId)
+            .success(error == null)
+            .status(status)
+            .error(error)
+            .build();
+    }
+
+    /**
+     * Rechaza un pago, serializado con las demás operaciones de pago de la orden
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponse rejectPayment(Long paymentId) {
+        Long orderId = paymentRepository.findOrderIdById(paymentId)
+            .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
+
+        return executeSerialized(List.of(orderId), () -> doRejectPayment(paymentId));
+    }
+
+    private PaymentResponse doRejectPayment(Long paymentId) {
         Payment payment = paymentRepository.findByIdWithTransactions(paymentId)
             .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
 
         // La validación del estado se realiza en el método reject() de la entidad
         // El método es idempotente y registra la transacción automáticamente
+        PaymentStatus previousStatus = payment.getStatus();
         payment.reject();
 
         Payment saved = paymentRepository.save(payment);
+        if (previousStatus != saved.getStatus() && saved.getOrder() != null) {
+            terminalOrderCache.evict(saved.getOrder().getId());
+        }
         return mapToResponse(saved);
     }
 
+    /**
+     * Marca un pago como fallido, serializado con las demás operaciones de pago de la orden
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponse markPaymentAsFailed(Long paymentId) {
+        Long orderId = paymentRepository.findOrderIdById(paymentId)
+            .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
+
+        return executeSerialized(List.of(orderId), () -> doMarkPaymentAsFailed(paymentId));
+    }
+
+    private PaymentResponse doMarkPaymentAsFailed(Long paymentId) {
         Payment payment = paymentRepository.findByIdWithTransactions(paymentId)
             .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
 
@@ -164,60 +424,188 @@ public class PaymentService {
                 saved.getAmount()
             ));
             log.info("Pago {} marcado como fallido - Evento emitido", saved.getId());
+            terminalOrderCache.evict(orderIdForEvent);
         }
 
         return mapToResponse(saved);
     }
 
+    /**
+     * Lee el pago con proyecciones, sin cargar entidades en el contexto de persistencia
+     * Las transacciones solo se consultan con {@code includeTransactions}
+     */
     @Transactional(readOnly = true)
-    public PaymentResponse getPaymentById(Long paymentId) {
-        Payment payment = paymentRepository.findByIdWithTransactions(paymentId)
+    public PaymentResponse getPaymentById(Long paymentId, boolean includeTransactions) {
+        PaymentView payment = paymentRepository.findViewById(paymentId)
             .orElseThrow(() -> new EntityNotFoundException("Pago", paymentId));
 
-        return mapToResponse(payment);
+        return mapToResponse(payment, includeTransactions
+            ? paymentRepository.findTransactionViewsByPaymentId(paymentId)
+            : null);
     }
 
+    /**
+     * Transacciones de un pago paginadas por cursor, en orden cronológico
+     * El cursor es el ID de la última transacción devuelta
+     */
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getPaymentsByOrderId(Long orderId) {
-        List<Payment> payments = paymentRepository.findByOrderIdWithTransactions(orderId);
-        return payments.stream()
-            .map(this::mapToResponse)
+    public CursorPageResponse<PaymentTransactionResponse> getPaymentTransactions(Long paymentId, Long afterId, int size) {
+        int pageSize = CursorPagination.resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<PaymentTransactionView> transactions = afterId == null
+            ? transactionRepository.findByPaymentId(paymentId, limit)
+            : transactionRepository.findByPaymentIdAfter(paymentId, afterId, limit);
+
+        // Solo una página vacía requiere distinguir un pago sin transacciones de un pago inexistente
+        if (transactions.isEmpty() && !paymentRepository.existsById(paymentId)) {
+            throw new EntityNotFoundException("Pago", paymentId);
+        }
+
+        boolean hasMore = transactions.size() > pageSize;
+        List<PaymentTransactionResponse> content = (hasMore ? transactions.subList(0, pageSize) : transactions).stream()
+            .map(this::mapToTransactionResponse)
             .collect(Collectors.toList());
+
+        return CursorPageResponse.<PaymentTransactionResponse>builder()
+            .content(content)
+            .size(content.size())
+            .nextCursor(hasMore ? content.get(content.size() - 1).getId() : null)
+            .hasMore(hasMore)
+            .build();
     }
 
+    /**
+     * Lee los pagos de la orden con proyecciones; con {@code includeTransactions}, las transacciones
+     * de todos ellos se leen en una segunda consulta
+     */
     @Transactional(readOnly = true)
-    public OrderPaymentSummaryResponse getOrderPaymentSummary(Long orderId) {
-        Order order = orderRepository.findByIdWithItemsAndCustomer(orderId)
-            .orElseThrow(() -> new EntityNotFoundException("Orden", orderId));
-
-        List<PaymentResponse> payments = getPaymentsByOrderId(orderId);
-
-        OrderResponse orderResponse = OrderResponse.builder()
-            .id(order.getId())
-            .customerId(order.getCustomer().getId())
-            .customerName(order.getCustomer().getName())
-            .customerEmail(order.getCustomer().getEmail())
-            .items(order.getItems().stream()
-                .map(item -> OrderItemResponse.builder()
-                    .id(item.getId())
-                    .productName(item.getProductName())
-                    .quantity(item.getQuantity())
-                    .unitPrice(item.getUnitPrice())
-                    .subtotal(item.getSubtotal())
-                    .build())
-                .collect(Collectors.toList()))
-            .totalAmount(order.getTotalAmount())
-            .status(order.getStatus())
-            .createdAt(order.getCreatedAt())
-            .build();
+    public List<PaymentResponse> getPaymentsByOrderId(Long orderId, boolean includeTransactions) {
+        if (!includeTransactions) {
+            return paymentRepository.findViewsByOrderId(orderId).stream()
+                .map(payment -> mapToResponse(payment, null))
+                .collect(Collectors.toList());
+        }
+
+        Map<Long, List<PaymentTransactionView>> transactionsByPayment = paymentRepository
+            .findTransactionViewsByOrderId(orderId).stream()
+            .collect(Collectors.groupingBy(PaymentTransactionView::paymentId));
 
-        return OrderPaymentSummaryResponse.builder()
+        return paymentRepository.findViewsByOrderId(orderId).stream()
+            .map(payment -> mapToResponse(payment, transactionsByPayment.getOrDefault(payment.id(), List.of())))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Resumen de pagos de la orden en dos consultas de proyección, sin importar la cantidad de ítems y pagos:
+     * - la orden con su cliente y sus ítems, como filas planas
+     * - los pagos con sus transacciones, como filas planas (en modo compacto, solo los pagos)
+     *
+     * Los montos pagado y pendiente salen del acumulado de la orden, sin sumar los pagos.
+     * Los resúmenes de órdenes en estado terminal se sirven desde {@link TerminalOrderCache};
+     * la caché guarda el resumen completo y el modo compacto se deriva de él. La caché se consulta
+     * antes de abrir la transacción, por lo que un acierto no toma una conexión del pool.
+     *
+     * @param compact si es true, los pagos se devuelven sin su historial de transacciones
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderPaymentSummaryResponse getOrderPaymentSummary(Long orderId, boolean compact) {
+        Optional<OrderPaymentSummaryResponse> cached = terminalOrderCache.getSummary(orderId);
+        if (cached.isPresent()) {
+            return compact ? withoutTransactions(cached.get()) : cached.get();
+        }
+        return readOnly(() -> loadOrderPaymentSummary(orderId, compact));
+    }
+
+    private OrderPaymentSummaryResponse loadOrderPaymentSummary(Long orderId, boolean compact) {
+        List<OrderItemRow> orderRows = orderRepository.findItemRowsById(orderId);
+        if (orderRows.isEmpty()) {
+            throw new EntityNotFoundException("Orden", orderId);
+        }
+        List<OrderItemView> items = orderRows.stream()
+            .map(OrderItemRow::item)
+            .filter(Objects::nonNull)
+            .toList();
+        OrderResponse orderResponse = orderService.mapToResponse(orderRows.get(0).order(), items, null);
+
+        List<PaymentResponse> payments = compact
+            ? paymentRepository.findViewsByOrderId(orderId).stream()
+                .map(payment -> mapToResponse(payment, null))
+                .collect(Collectors.toList())
+            : mapPaymentRows(paymentRepository.findTransactionRowsByOrderId(orderId));
+
+        OrderPaymentSummaryResponse summary = OrderPaymentSummaryResponse.builder()
             .order(orderResponse)
             .payments(payments)
             .build();
+        if (!compact) {
+            terminalOrderCache.putSummary(summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Ejecuta la lectura en una transacción de solo lectura, para los métodos que no abren la suya
+     */
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> read.get());
+    }
+
+    /**
+     * Agrupa las filas planas (ordenadas por pago) en un pago con sus transacciones
+     */
+    private List<PaymentResponse> mapPaymentRows(List<PaymentTransactionRow> rows) {
+        Map<Long, PaymentView> paymentsById = new LinkedHashMap<>();
+        Map<Long, List<PaymentTransactionView>> transactionsByPayment = new HashMap<>();
+        for (PaymentTransactionRow row : rows) {
+            paymentsById.computeIfAbsent(row.paymentId(), id -> row.payment());
+            List<PaymentTransactionView> transactions =
+                transactionsByPayment.computeIfAbsent(row.paymentId(), id -> new ArrayList<>());
+            if (row.transaction() != null) {
+                transactions.add(row.transaction());
+            }
+        }
+        return paymentsById.values().stream()
+            .map(payment -> mapToResponse(payment, transactionsByPayment.get(payment.id())))
+            .collect(Collectors.toList());
+    }
+
+    private OrderPaymentSummaryResponse withoutTransactions(OrderPaymentSummaryResponse summary) {
+        summary.getPayments().forEach(payment -> payment.setTransactions(null));
+        return summary;
+    }
+
+    /**
+     * Sin transacciones ({@code transactions} null) el pago se devuelve sin historial
+     */
+    private PaymentResponse mapToResponse(PaymentView payment, List<PaymentTransactionView> transactions) {
+        return PaymentResponse.builder()
+            .id(payment.id())
+            .orderId(payment.orderId())
+            .amount(payment.amount())
+            .status(payment.status())
+            .createdAt(payment.createdAt())
+            .transactions(transactions == null ? null : transactions.stream()
+                .map(this::mapToTransactionResponse)
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    private PaymentTransactionResponse mapToTransactionResponse(PaymentTransactionView transaction) {
+        return PaymentTransactionResponse.builder()
+            .id(transaction.id())
+            .previousStatus(transaction.previousStatus())
+            .newStatus(transaction.newStatus())
+            .timestamp(transaction.timestamp())
+            .notes(transaction.notes())
+            .build();
     }
 
-    private PaymentResponse mapToResponse(Payment payment) {
+    /**
+     * Estático y con visibilidad de paquete para los benchmarks de mapeo (src/jmh/java), que no instancian el servicio
+     */
+    static PaymentResponse mapToResponse(Payment payment) {
         // Manejar caso donde transactions pueda ser null
         List<PaymentTransactionResponse> transactions = payment.getTransactions() != null ?
             payment.getTransactions().stream()
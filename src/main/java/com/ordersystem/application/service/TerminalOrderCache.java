@@ -0,0 +1,102 @@
+package com.ordersystem.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.api.dto.response.OrderPaymentSummaryResponse;
+import com.ordersystem.api.dto.response.OrderResponse;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.infrastructure.cache.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Caché de respuestas de órdenes en estado terminal (SHIPPED o CANCELLED)
+ *
+ * Una orden terminal ya no cambia de estado, por lo que su respuesta puede servirse sin ir a la
+ * base de datos. Se guarda el JSON serializado: ocupa menos memoria que el grafo de DTOs y cada
+ * lectura obtiene su propia copia.
+ *
+ * La única excepción son los pagos pendientes de una orden terminal, que todavía pueden aprobarse,
+ * rechazarse o fallar; {@link PaymentService} invalida la orden en cada transición de pago.
+ * Las escrituras en caché se aplican al confirmar la transacción.
+ */
+@Slf4j
+@Component
+public class TerminalOrderCache {
+
+    private final Cache orders;
+    private final Cache summaries;
+    private final ObjectMapper objectMapper;
+
+    public TerminalOrderCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.orders = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TERMINAL_ORDERS));
+        this.summaries = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TERMINAL_ORDER_SUMMARIES));
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<OrderResponse> getOrder(Long orderId) {
+        return read(orders, orderId, OrderResponse.class);
+    }
+
+    /**
+     * Guarda la respuesta solo si la orden está en un estado terminal
+     */
+    public void putOrder(OrderResponse response) {
+        if (isTerminal(response.getStatus())) {
+            write(orders, response.getId(), response);
+        }
+    }
+
+    public Optional<OrderPaymentSummaryResponse> getSummary(Long orderId) {
+        return read(summaries, orderId, OrderPaymentSummaryResponse.class);
+    }
+
+    /**
+     * Guarda el resumen solo si la orden está en un estado terminal
+     */
+    public void putSummary(OrderPaymentSummaryResponse summary) {
+        if (isTerminal(summary.getOrder().getStatus())) {
+            write(summaries, summary.getOrder().getId(), summary);
+        }
+    }
+
+    /**
+     * Invalida la orden y su resumen (por ejemplo, tras una transición de uno de sus pagos)
+     */
+    public void evict(Long orderId) {
+        orders.evict(orderId);
+        summaries.evict(orderId);
+    }
+
+    private boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.SHIPPED || status == OrderStatus.CANCELLED;
+    }
+
+    private <T> Optional<T> read(Cache cache, Long orderId, Class<T> type) {
+        byte[] payload = cache.get(orderId, byte[].class);
+        if (payload == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(payload, type));
+        } catch (IOException ex) {
+            log.warn("Entrada de caché ilegible para la orden {}: {}", orderId, ex.getMessage());
+            cache.evict(orderId);
+            return Optional.empty();
+        }
+    }
+
+    private void write(Cache cache, Long orderId, Object value) {
+        try {
+            cache.put(orderId, objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException ex) {
+            log.warn("No se pudo serializar la orden {} para la caché: {}", orderId, ex.getMessage());
+        }
+    }
+}
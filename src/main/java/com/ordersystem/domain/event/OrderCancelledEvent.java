@@ -0,0 +1,31 @@
+package com.ordersystem.domain.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Instant;
+
+/**
+ * Evento de dominio emitido cuando una orden es cancelada, a pedido o por vencimiento
+ */
+@Getter
+public class OrderCancelledEvent extends ApplicationEvent {
+
+    private final Long orderId;
+    private final Long customerId;
+    private final Instant occurredAt;
+
+    public OrderCancelledEvent(Object source, Long orderId, Long customerId) {
+        this(source, orderId, customerId, Instant.now());
+    }
+
+    /**
+     * Reconstruye el evento con su instante original (usado al reenviarlo desde el outbox)
+     */
+    public OrderCancelledEvent(Object source, Long orderId, Long customerId, Instant occurredAt) {
+        super(source);
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -16,10 +16,17 @@ public class OrderConfirmedEvent extends ApplicationEvent {
     private final Instant occurredAt;
 
     public OrderConfirmedEvent(Object source, Long orderId, Long customerId) {
+        this(source, orderId, customerId, Instant.now());
+    }
+
+    /**
+     * Reconstruye el evento con su instante original (usado al reenviarlo desde el outbox)
+     */
+    public OrderConfirmedEvent(Object source, Long orderId, Long customerId, Instant occurredAt) {
         super(source);
         this.orderId = orderId;
         this.customerId = customerId;
-        this.occurredAt = Instant.now();
+        this.occurredAt = occurredAt;
     }
 }
 
@@ -18,11 +18,18 @@ public class OrderPaidEvent extends ApplicationEvent {
     private final Instant occurredAt;
 
     public OrderPaidEvent(Object source, Long orderId, Long customerId, BigDecimal totalAmount) {
+        this(source, orderId, customerId, totalAmount, Instant.now());
+    }
+
+    /**
+     * Reconstruye el evento con su instante original (usado al reenviarlo desde el outbox)
+     */
+    public OrderPaidEvent(Object source, Long orderId, Long customerId, BigDecimal totalAmount, Instant occurredAt) {
         super(source);
         this.orderId = orderId;
         this.customerId = customerId;
         this.totalAmount = totalAmount;
-        this.occurredAt = Instant.now();
+        this.occurredAt = occurredAt;
     }
 }
 
@@ -18,11 +18,18 @@ public class PaymentApprovedEvent extends ApplicationEvent {
     private final Instant occurredAt;
 
     public PaymentApprovedEvent(Object source, Long paymentId, Long orderId, BigDecimal amount) {
+        this(source, paymentId, orderId, amount, Instant.now());
+    }
+
+    /**
+     * Reconstruye el evento con su instante original (usado al reenviarlo desde el outbox)
+     */
+    public PaymentApprovedEvent(Object source, Long paymentId, Long orderId, BigDecimal amount, Instant occurredAt) {
         super(source);
         this.paymentId = paymentId;
         this.orderId = orderId;
         this.amount = amount;
-        this.occurredAt = Instant.now();
+        this.occurredAt = occurredAt;
     }
 }
 
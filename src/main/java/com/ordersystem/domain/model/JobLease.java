@@ -0,0 +1,37 @@
+package com.ordersystem.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease de un trabajo programado: el nodo {@code owner} lo ejecuta hasta {@code expiresAt}
+ *
+ * El dueño renueva el lease mientras está vivo; si deja de hacerlo, cualquier otro nodo puede
+ * tomarlo una vez vencido. Las fechas se guardan en UTC.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
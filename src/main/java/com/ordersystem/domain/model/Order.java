@@ -22,7 +22,9 @@ import java.util.List;
  * Todas las transiciones de estado se registran en el historial
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_order_status_id", columnList = "status, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,7 +32,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "El cliente es obligatorio")
@@ -48,6 +51,14 @@ public class Order {
     @Builder.Default
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
+    /**
+     * Acumulado de pagos aprobados, mantenido en cada aprobación para no recorrer los pagos de la orden
+     */
+    @NotNull(message = "El monto pagado es obligatorio")
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -65,6 +76,12 @@ public class Order {
     @Builder.Default
     private List<OrderStateHistory> stateHistory = new ArrayList<>();
 
+    /**
+     * Versión para control de concurrencia optimista: una escritura concurrente falla al confirmar
+     */
+    @Version
+    private Long version;
+
     /**
      * Cambia el estado de la orden y registra el cambio en el historial
      * Este método es privado y solo debe ser llamado desde los métodos públicos de transición
@@ -190,6 +207,28 @@ public class Order {
         changeStatus(OrderStatus.SHIPPED, "Orden enviada");
     }
 
+    /**
+     * Registra en el acumulado el monto de un pago que acaba de ser aprobado
+     * Debe llamarse una única vez por pago, en la misma transacción en que el pago pasa a APPROVED
+     */
+    public void registerApprovedPayment(BigDecimal amount) {
+        this.paidAmount = this.paidAmount.add(amount);
+    }
+
+    /**
+     * Monto que aún falta pagar (total menos pagos aprobados)
+     */
+    public BigDecimal getPendingAmount() {
+        return this.totalAmount.subtract(this.paidAmount);
+    }
+
+    /**
+     * Indica si los pagos aprobados cubren el total de la orden
+     */
+    public boolean isFullyPaid() {
+        return this.totalAmount != null && this.paidAmount.compareTo(this.totalAmount) >= 0;
+    }
+
     /**
      * Calcula el monto total de la orden basándose en los ítems
      */
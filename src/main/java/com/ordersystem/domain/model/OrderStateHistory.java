@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "order_state_history", indexes = {
     @Index(name = "idx_order_state_history_order_id", columnList = "order_id"),
-    @Index(name = "idx_order_state_history_timestamp", columnList = "timestamp")
+    @Index(name = "idx_order_state_history_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_order_state_history_order_timestamp", columnList = "order_id, timestamp, id")
 })
 @Data
 @Builder
@@ -26,7 +27,8 @@ import java.time.LocalDateTime;
 public class OrderStateHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_state_history_seq")
+    @SequenceGenerator(name = "order_state_history_seq", sequenceName = "order_state_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
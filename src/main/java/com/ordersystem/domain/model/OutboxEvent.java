@@ -0,0 +1,62 @@
+package com.ordersystem.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio pendiente de despacho (patrón transactional outbox)
+ *
+ * Se escribe en la misma transacción que el cambio de estado que lo origina, de modo que el evento
+ * existe si y solo si el cambio se confirmó. El relay lo despacha a los listeners y lo marca como
+ * procesado; si el despacho falla se reintenta en el siguiente ciclo (entrega al menos una vez).
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_processed_at", columnList = "processed_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(length = 500)
+    private String lastError;
+
+    /**
+     * Recorta el mensaje de error al largo de la columna {@code last_error}
+     */
+    public static String truncateError(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
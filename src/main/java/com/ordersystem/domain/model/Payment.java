@@ -22,7 +22,10 @@ import java.util.List;
  * Todas las transiciones de estado se registran en el historial de transacciones
  */
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payment_status_id", columnList = "status, id"),
+    @Index(name = "idx_payment_order_status", columnList = "order_id, status")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,7 +33,8 @@ import java.util.List;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "La orden es obligatoria")
@@ -56,6 +60,12 @@ public class Payment {
     @Builder.Default
     private List<PaymentTransaction> transactions = new ArrayList<>();
 
+    /**
+     * Versión para control de concurrencia optimista: una escritura concurrente falla al confirmar
+     */
+    @Version
+    private Long version;
+
     /**
      * Cambia el estado del pago y registra el cambio en el historial
      * Este método es privado y solo debe ser llamado desde los métodos públicos de transición
@@ -148,6 +158,25 @@ public class Payment {
         changeStatus(PaymentStatus.FAILED, "Pago fallido");
     }
 
+    /**
+     * Regla de negocio: Marca como fallido un pago que venció sin respuesta de la pasarela
+     * Solo puede vencer un pago en estado PENDING
+     *
+     * @throws InvalidStateTransitionException si el pago no está en estado PENDING
+     */
+    public void expire() {
+        if (this.status != PaymentStatus.PENDING) {
+            throw new InvalidStateTransitionException(
+                "Payment",
+                this.status.name(),
+                PaymentStatus.FAILED.name(),
+                "Solo puede vencer un pago en estado PENDING"
+            );
+        }
+
+        changeStatus(PaymentStatus.FAILED, "Pago vencido sin respuesta de la pasarela");
+    }
+
     /**
      * Registra el estado inicial del pago en el historial
      * Debe ser llamado una vez al crear el pago
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "payment_transactions", indexes = {
     @Index(name = "idx_payment_transaction_payment_id", columnList = "payment_id"),
-    @Index(name = "idx_payment_transaction_timestamp", columnList = "timestamp")
+    @Index(name = "idx_payment_transaction_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_payment_transaction_payment_timestamp", columnList = "payment_id, timestamp, id")
 })
 @Data
 @Builder
@@ -28,7 +29,8 @@ import java.time.LocalDateTime;
 public class PaymentTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_transactions_seq")
+    @SequenceGenerator(name = "payment_transactions_seq", sequenceName = "payment_transactions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "El pago es obligatorio")
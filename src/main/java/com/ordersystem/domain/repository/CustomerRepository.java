@@ -1,9 +1,15 @@
 package com.ordersystem.domain.repository;
 
 import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.repository.projection.CustomerEmailView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +18,25 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Devuelve, de los IDs recibidos, solo los que corresponden a clientes existentes
+     */
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Devuelve, de los emails recibidos, solo los que ya pertenecen a un cliente
+     */
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Siguiente lote de emails de clientes, en orden de ID, posteriores a {@code afterId}
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.CustomerEmailView(c.id, c.email) "
+        + "FROM Customer c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<CustomerEmailView> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
 }
 
 
@@ -0,0 +1,54 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Toma el lease si ya es del nodo o si venció; un único UPDATE condicional, sin leer la fila antes
+     *
+     * @return filas actualizadas (0 o 1)
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.acquiredAt = :now, l.expiresAt = :expiresAt "
+        + "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int acquireIfAvailable(@Param("name") String name, @Param("owner") String owner,
+                           @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Crea el lease de un trabajo que todavía no tiene fila; si otro nodo la insertó antes, falla por clave primaria
+     *
+     * INSERT nativo en lugar de save(): con un ID asignado, save() hace merge (SELECT y luego INSERT o UPDATE),
+     * y si otro nodo inserta la fila entre ambas sentencias el UPDATE le quitaría el lease.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (name, owner, acquired_at, expires_at) VALUES (:name, :owner, :now, :expiresAt)",
+        nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner,
+               @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Extiende el lease solo si el nodo sigue siendo su dueño
+     *
+     * @return filas actualizadas (0 si otro nodo lo tomó)
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Libera los leases del nodo dejándolos vencidos, para que otro nodo los tome sin esperar
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.name IN :names AND l.owner = :owner")
+    int release(@Param("names") Collection<String> names, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
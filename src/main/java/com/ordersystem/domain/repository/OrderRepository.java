@@ -2,20 +2,32 @@ package com.ordersystem.domain.repository;
 
 import com.ordersystem.domain.enums.OrderStatus;
 import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.repository.projection.OrderItemRow;
+import com.ordersystem.domain.repository.projection.OrderItemView;
+import com.ordersystem.domain.repository.projection.OrderStateHistoryView;
+import com.ordersystem.domain.repository.projection.OrderStatusCount;
+import com.ordersystem.domain.repository.projection.OrderView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    
-    List<Order> findByCustomerId(Long customerId);
-    
-    List<Order> findByStatus(OrderStatus status);
+
+    /**
+     * Condición de orden abandonada: sin pagos aprobados ni pagos PENDING en curso
+     * Una orden con pagos no se cancela automáticamente, porque quedaría dinero sin reembolsar
+     */
+    String STALE_ORDER = "o.paidAmount = 0 AND NOT EXISTS (SELECT p.id FROM Payment p WHERE p.order = o "
+        + "AND p.status = com.ordersystem.domain.enums.PaymentStatus.PENDING)";
     
     @Query("SELECT o FROM Order o JOIN FETCH o.items WHERE o.id = :id")
     Optional<Order> findByIdWithItems(@Param("id") Long id);
@@ -23,7 +35,91 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o JOIN FETCH o.items JOIN FETCH o.customer WHERE o.id = :id")
     Optional<Order> findByIdWithItemsAndCustomer(@Param("id") Long id);
     
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.stateHistory WHERE o.id = :id")
-    Optional<Order> findByIdWithItemsAndCustomerAndHistory(@Param("id") Long id);
-}
+    /**
+     * Paginación por cursor: IDs de las órdenes de un cliente posteriores a {@code afterId}
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId AND o.id > :afterId ORDER BY o.id ASC")
+    List<Long> findIdsByCustomerIdAfter(@Param("customerId") Long customerId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Paginación por cursor: IDs de las órdenes en un estado posteriores a {@code afterId}
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id > :afterId ORDER BY o.id ASC")
+    List<Long> findIdsByStatusAfter(@Param("status") OrderStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Paginación por cursor: IDs de las órdenes abandonadas (ver {@link #STALE_ORDER}) en alguno de los estados,
+     * creadas antes de {@code cutoff}, posteriores a {@code afterId}
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff AND " + STALE_ORDER
+        + " AND o.id > :afterId ORDER BY o.id ASC")
+    List<Long> findIdsByStatusInCreatedBefore(@Param("statuses") Collection<OrderStatus> statuses,
+                                              @Param("cutoff") LocalDateTime cutoff,
+                                              @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Órdenes indicadas que siguen abandonadas en alguno de los estados y fueron creadas antes de {@code cutoff}
+     * Ni los ítems ni el historial se cargan: las entradas nuevas se agregan al historial sin inicializarlo
+     */
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids AND o.status IN :statuses AND o.createdAt < :cutoff AND " + STALE_ORDER)
+    List<Order> findAllByIdInAndStatusInCreatedBefore(@Param("ids") Collection<Long> ids,
+                                                      @Param("statuses") Collection<OrderStatus> statuses,
+                                                      @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderStatusCount(o.status, COUNT(o)) "
+        + "FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff AND " + STALE_ORDER + " GROUP BY o.status")
+    List<OrderStatusCount> countByStatusInCreatedBefore(@Param("statuses") Collection<OrderStatus> statuses,
+                                                        @Param("cutoff") LocalDateTime cutoff);
 
+    /**
+     * Carga en una sola consulta las órdenes de una página con sus ítems y su cliente
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items JOIN FETCH o.customer WHERE o.id IN :ids ORDER BY o.id ASC")
+    List<Order> findAllByIdInWithItemsAndCustomer(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Inicializa el historial de estados de las órdenes de una página ya cargadas en el contexto de persistencia
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.stateHistory WHERE o.id IN :ids")
+    List<Order> findAllByIdInWithHistory(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Proyección de la orden con su cliente, sin hidratar entidades
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderView("
+        + "o.id, c.id, c.name, c.email, o.totalAmount, o.paidAmount, o.status, o.createdAt) "
+        + "FROM Order o JOIN o.customer c WHERE o.id = :id")
+    Optional<OrderView> findViewById(@Param("id") Long id);
+
+    /**
+     * Orden con su cliente y sus ítems en una sola consulta, como filas planas (una por ítem)
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderItemRow("
+        + "o.id, c.id, c.name, c.email, o.totalAmount, o.paidAmount, o.status, o.createdAt, "
+        + "i.id, i.productName, i.quantity, i.unitPrice) "
+        + "FROM Order o JOIN o.customer c LEFT JOIN o.items i WHERE o.id = :id ORDER BY i.id ASC")
+    List<OrderItemRow> findItemRowsById(@Param("id") Long id);
+
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderItemView("
+        + "i.order.id, i.id, i.productName, i.quantity, i.unitPrice) "
+        + "FROM OrderItem i WHERE i.order.id = :orderId ORDER BY i.id ASC")
+    List<OrderItemView> findItemViewsByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderStateHistoryView("
+        + "h.order.id, h.id, h.previousStatus, h.newStatus, h.timestamp, h.notes) "
+        + "FROM OrderStateHistory h WHERE h.order.id = :orderId ORDER BY h.id ASC")
+    List<OrderStateHistoryView> findHistoryViewsByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Transición de estado condicional: solo actualiza si la orden está en {@code expected}
+     * Incrementa la versión, igual que una escritura de la entidad
+     *
+     * @return filas actualizadas (0 o 1)
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.version = o.version + 1 WHERE o.id = :id AND o.status = :expected")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("expected") OrderStatus expected, @Param("target") OrderStatus target);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+}
@@ -1,7 +1,11 @@
 package com.ordersystem.domain.repository;
 
 import com.ordersystem.domain.model.OrderStateHistory;
+import com.ordersystem.domain.repository.projection.OrderStateHistoryView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +14,26 @@ import java.util.List;
 public interface OrderStateHistoryRepository extends JpaRepository<OrderStateHistory, Long> {
     
     List<OrderStateHistory> findByOrderIdOrderByTimestampAsc(Long orderId);
-}
 
+    /**
+     * Primera página del historial de una orden, en orden (timestamp, id)
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderStateHistoryView("
+        + "h.order.id, h.id, h.previousStatus, h.newStatus, h.timestamp, h.notes) "
+        + "FROM OrderStateHistory h WHERE h.order.id = :orderId ORDER BY h.timestamp ASC, h.id ASC")
+    List<OrderStateHistoryView> findByOrderIdOrderByTimestampAsc(@Param("orderId") Long orderId, Limit limit);
 
+    /**
+     * Página siguiente del historial: entradas posteriores, en orden (timestamp, id), a la entrada {@code afterId}
+     * El cursor es el ID de la última entrada devuelta; su timestamp se resuelve por clave primaria en la misma consulta
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.OrderStateHistoryView("
+        + "h.order.id, h.id, h.previousStatus, h.newStatus, h.timestamp, h.notes) "
+        + "FROM OrderStateHistory h, OrderStateHistory c "
+        + "WHERE c.id = :afterId AND c.order.id = :orderId AND h.order.id = :orderId "
+        + "AND (h.timestamp > c.timestamp OR (h.timestamp = c.timestamp AND h.id > c.id)) "
+        + "ORDER BY h.timestamp ASC, h.id ASC")
+    List<OrderStateHistoryView> findByOrderIdAfterOrderByTimestampAsc(@Param("orderId") Long orderId,
+                                                                      @Param("afterId") Long afterId,
+                                                                      Limit limit);
+}
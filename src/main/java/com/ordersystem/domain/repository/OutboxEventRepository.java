@@ -0,0 +1,43 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Siguiente lote de eventos pendientes, en orden de creación, posteriores a {@code afterId}
+     * Los eventos que agotaron sus intentos quedan fuera (requieren revisión manual)
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts AND e.id > :afterId ORDER BY e.id ASC")
+    List<OutboxEvent> findPending(@Param("maxAttempts") int maxAttempts, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Checkpoint de los eventos despachados: quedan procesados y consumen un intento
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt, e.attempts = e.attempts + 1, e.lastError = NULL "
+        + "WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Registra un despacho fallido: el evento consume un intento y queda pendiente para el siguiente ciclo
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
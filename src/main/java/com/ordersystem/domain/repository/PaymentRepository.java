@@ -1,11 +1,18 @@
 package com.ordersystem.domain.repository;
 
+import com.ordersystem.domain.enums.PaymentStatus;
 import com.ordersystem.domain.model.Payment;
+import com.ordersystem.domain.repository.projection.PaymentTransactionRow;
+import com.ordersystem.domain.repository.projection.PaymentTransactionView;
+import com.ordersystem.domain.repository.projection.PaymentView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +24,62 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p JOIN FETCH p.transactions WHERE p.id = :id")
     Optional<Payment> findByIdWithTransactions(@Param("id") Long id);
     
-    @Query("SELECT p FROM Payment p JOIN FETCH p.transactions WHERE p.order.id = :orderId")
-    List<Payment> findByOrderIdWithTransactions(@Param("orderId") Long orderId);
-}
+    /**
+     * Carga en una sola consulta los pagos indicados con sus transacciones y su orden
+     */
+    @Query("SELECT DISTINCT p FROM Payment p LEFT JOIN FETCH p.transactions JOIN FETCH p.order WHERE p.id IN :ids")
+    List<Payment> findAllByIdInWithTransactionsAndOrder(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.order.id FROM Payment p WHERE p.id = :id")
+    Optional<Long> findOrderIdById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT p.order.id FROM Payment p WHERE p.id IN :ids")
+    List<Long> findOrderIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Siguiente lote de IDs de pagos en el estado indicado creados antes de {@code cutoff}, posteriores a {@code afterId}
+     */
+    @Query("SELECT p.id FROM Payment p WHERE p.status = :status AND p.createdAt < :cutoff AND p.id > :afterId ORDER BY p.id ASC")
+    List<Long> findIdsByStatusCreatedBefore(@Param("status") PaymentStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                            @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Pagos indicados que siguen en el estado dado y fueron creados antes de {@code cutoff}
+     * Las transacciones no se cargan: las nuevas se agregan a la colección sin inicializarla
+     */
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids AND p.status = :status AND p.createdAt < :cutoff")
+    List<Payment> findAllByIdInAndStatusCreatedBefore(@Param("ids") Collection<Long> ids, @Param("status") PaymentStatus status,
+                                                      @Param("cutoff") LocalDateTime cutoff);
 
+    /**
+     * Proyección del pago, sin hidratar entidades
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentView("
+        + "p.id, p.order.id, p.amount, p.status, p.createdAt) FROM Payment p WHERE p.id = :id")
+    Optional<PaymentView> findViewById(@Param("id") Long id);
 
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentView("
+        + "p.id, p.order.id, p.amount, p.status, p.createdAt) FROM Payment p WHERE p.order.id = :orderId ORDER BY p.id ASC")
+    List<PaymentView> findViewsByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentTransactionView("
+        + "t.payment.id, t.id, t.previousStatus, t.newStatus, t.timestamp, t.notes) "
+        + "FROM PaymentTransaction t WHERE t.payment.id = :paymentId ORDER BY t.id ASC")
+    List<PaymentTransactionView> findTransactionViewsByPaymentId(@Param("paymentId") Long paymentId);
+
+    /**
+     * Transacciones de todos los pagos de una orden en una sola consulta, ordenadas por pago
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentTransactionView("
+        + "t.payment.id, t.id, t.previousStatus, t.newStatus, t.timestamp, t.notes) "
+        + "FROM PaymentTransaction t WHERE t.payment.order.id = :orderId ORDER BY t.payment.id ASC, t.id ASC")
+    List<PaymentTransactionView> findTransactionViewsByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Pagos de la orden con sus transacciones en una sola consulta, como filas planas (una por transacción)
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentTransactionRow("
+        + "p.id, p.order.id, p.amount, p.status, p.createdAt, t.id, t.previousStatus, t.newStatus, t.timestamp, t.notes) "
+        + "FROM Payment p LEFT JOIN p.transactions t WHERE p.order.id = :orderId ORDER BY p.id ASC, t.id ASC")
+    List<PaymentTransactionRow> findTransactionRowsByOrderId(@Param("orderId") Long orderId);
+}
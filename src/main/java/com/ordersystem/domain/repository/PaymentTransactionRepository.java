@@ -1,7 +1,11 @@
 package com.ordersystem.domain.repository;
 
 import com.ordersystem.domain.model.PaymentTransaction;
+import com.ordersystem.domain.repository.projection.PaymentTransactionView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +14,26 @@ import java.util.List;
 public interface PaymentTransactionRepository extends JpaRepository<PaymentTransaction, Long> {
     
     List<PaymentTransaction> findByPaymentId(Long paymentId);
-}
 
+    /**
+     * Primera página de las transacciones de un pago, en orden (timestamp, id)
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentTransactionView("
+        + "t.payment.id, t.id, t.previousStatus, t.newStatus, t.timestamp, t.notes) "
+        + "FROM PaymentTransaction t WHERE t.payment.id = :paymentId ORDER BY t.timestamp ASC, t.id ASC")
+    List<PaymentTransactionView> findByPaymentId(@Param("paymentId") Long paymentId, Limit limit);
 
+    /**
+     * Página siguiente: transacciones posteriores, en orden (timestamp, id), a la transacción {@code afterId}
+     * El cursor es el ID de la última transacción devuelta; su timestamp se resuelve por clave primaria en la misma consulta
+     */
+    @Query("SELECT new com.ordersystem.domain.repository.projection.PaymentTransactionView("
+        + "t.payment.id, t.id, t.previousStatus, t.newStatus, t.timestamp, t.notes) "
+        + "FROM PaymentTransaction t, PaymentTransaction c "
+        + "WHERE c.id = :afterId AND c.payment.id = :paymentId AND t.payment.id = :paymentId "
+        + "AND (t.timestamp > c.timestamp OR (t.timestamp = c.timestamp AND t.id > c.id)) "
+        + "ORDER BY t.timestamp ASC, t.id ASC")
+    List<PaymentTransactionView> findByPaymentIdAfter(@Param("paymentId") Long paymentId,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+}
@@ -0,0 +1,7 @@
+package com.ordersystem.domain.repository.projection;
+
+/**
+ * ID y email de un cliente, para recorrer los emails existentes por cursor sin cargar entidades
+ */
+public record CustomerEmailView(Long id, String email) {
+}
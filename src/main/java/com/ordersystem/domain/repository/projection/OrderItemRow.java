@@ -0,0 +1,37 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de una orden con uno de sus ítems: la cabecera (orden y cliente) se repite en cada ítem
+ * Permite leer la orden completa en una sola consulta; una orden sin ítems produce una fila con el ítem en null
+ */
+public record OrderItemRow(
+    Long orderId,
+    Long customerId,
+    String customerName,
+    String customerEmail,
+    BigDecimal totalAmount,
+    BigDecimal paidAmount,
+    OrderStatus status,
+    LocalDateTime createdAt,
+    Long itemId,
+    String productName,
+    Integer quantity,
+    BigDecimal unitPrice
+) {
+
+    public OrderView order() {
+        return new OrderView(orderId, customerId, customerName, customerEmail, totalAmount, paidAmount, status, createdAt);
+    }
+
+    /**
+     * Ítem de la fila, o null si la orden no tiene ítems
+     */
+    public OrderItemView item() {
+        return itemId != null ? new OrderItemView(orderId, itemId, productName, quantity, unitPrice) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ordersystem.domain.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de solo lectura de un ítem de orden
+ */
+public record OrderItemView(
+    Long orderId,
+    Long id,
+    String productName,
+    Integer quantity,
+    BigDecimal unitPrice
+) {
+
+    /**
+     * Subtotal del ítem, igual que {@code OrderItem.getSubtotal()}
+     */
+    public BigDecimal subtotal() {
+        if (quantity == null || unitPrice == null) {
+            return BigDecimal.ZERO;
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
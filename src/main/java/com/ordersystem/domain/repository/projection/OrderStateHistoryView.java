@@ -0,0 +1,18 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un cambio de estado de una orden
+ */
+public record OrderStateHistoryView(
+    Long orderId,
+    Long id,
+    OrderStatus previousStatus,
+    OrderStatus newStatus,
+    LocalDateTime timestamp,
+    String notes
+) {
+}
@@ -0,0 +1,9 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.OrderStatus;
+
+/**
+ * Cantidad de órdenes en un estado
+ */
+public record OrderStatusCount(OrderStatus status, Long count) {
+}
@@ -0,0 +1,29 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de una orden con los datos de su cliente
+ * Se construye directamente desde la consulta, sin pasar por el contexto de persistencia
+ */
+public record OrderView(
+    Long id,
+    Long customerId,
+    String customerName,
+    String customerEmail,
+    BigDecimal totalAmount,
+    BigDecimal paidAmount,
+    OrderStatus status,
+    LocalDateTime createdAt
+) {
+
+    /**
+     * Monto que aún falta pagar (total menos pagos aprobados), igual que {@code Order.getPendingAmount()}
+     */
+    public BigDecimal pendingAmount() {
+        return totalAmount.subtract(paidAmount);
+    }
+}
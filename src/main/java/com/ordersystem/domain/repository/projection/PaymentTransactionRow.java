@@ -0,0 +1,37 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de un pago con una de sus transacciones: el pago se repite en cada transacción
+ * Un pago sin transacciones produce una fila con la transacción en null
+ */
+public record PaymentTransactionRow(
+    Long paymentId,
+    Long orderId,
+    BigDecimal amount,
+    PaymentStatus status,
+    LocalDateTime createdAt,
+    Long transactionId,
+    PaymentStatus previousStatus,
+    PaymentStatus newStatus,
+    LocalDateTime timestamp,
+    String notes
+) {
+
+    public PaymentView payment() {
+        return new PaymentView(paymentId, orderId, amount, status, createdAt);
+    }
+
+    /**
+     * Transacción de la fila, o null si el pago no tiene transacciones
+     */
+    public PaymentTransactionView transaction() {
+        return transactionId != null
+            ? new PaymentTransactionView(paymentId, transactionId, previousStatus, newStatus, timestamp, notes)
+            : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un cambio de estado de un pago
+ */
+public record PaymentTransactionView(
+    Long paymentId,
+    Long id,
+    PaymentStatus previousStatus,
+    PaymentStatus newStatus,
+    LocalDateTime timestamp,
+    String notes
+) {
+}
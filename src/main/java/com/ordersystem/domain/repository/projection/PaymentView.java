@@ -0,0 +1,18 @@
+package com.ordersystem.domain.repository.projection;
+
+import com.ordersystem.domain.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un pago
+ */
+public record PaymentView(
+    Long id,
+    Long orderId,
+    BigDecimal amount,
+    PaymentStatus status,
+    LocalDateTime createdAt
+) {
+}
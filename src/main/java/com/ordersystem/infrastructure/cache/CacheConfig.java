@@ -0,0 +1,65 @@
+package com.ordersystem.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuración de las cachés en memoria (Caffeine)
+ *
+ * Cada caché se declara explícitamente con su propia especificación de tamaño y expiración
+ * ({@code cache.<nombre>.*}); no se crean cachés dinámicas para nombres desconocidos.
+ * Las escrituras en caché se difieren hasta el commit de la transacción en curso, para no
+ * publicar datos de una transacción que termina en rollback.
+ *
+ * Las estadísticas se registran siempre: Actuator las publica como {@code cache.gets} (hit/miss),
+ * {@code cache.evictions} y {@code cache.size} con el tag {@code cache}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Clientes por ID */
+    public static final String CUSTOMERS_BY_ID = "customersById";
+
+    /** Clientes por email */
+    public static final String CUSTOMERS_BY_EMAIL = "customersByEmail";
+
+    /** Respuestas serializadas de órdenes en estado terminal */
+    public static final String TERMINAL_ORDERS = "terminalOrders";
+
+    /** Resúmenes de pagos serializados de órdenes en estado terminal */
+    public static final String TERMINAL_ORDER_SUMMARIES = "terminalOrderSummaries";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.customers.spec:maximumSize=10000,expireAfterWrite=10m}") String customersSpec,
+            @Value("${cache.terminal-orders.max-bytes:33554432}") long terminalOrdersMaxBytes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(CUSTOMERS_BY_ID, Caffeine.from(customersSpec).recordStats().build());
+        cacheManager.registerCustomCache(CUSTOMERS_BY_EMAIL, Caffeine.from(customersSpec).recordStats().build());
+        cacheManager.registerCustomCache(TERMINAL_ORDERS, byteSizedCache(terminalOrdersMaxBytes));
+        cacheManager.registerCustomCache(TERMINAL_ORDER_SUMMARIES, byteSizedCache(terminalOrdersMaxBytes));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Caché de payloads serializados acotada por la suma de sus tamaños en bytes
+     */
+    private Cache<Object, Object> byteSizedCache(long maxBytes) {
+        return Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((key, value) -> value instanceof byte[] bytes ? bytes.length : 1)
+            .recordStats()
+            .build();
+    }
+}
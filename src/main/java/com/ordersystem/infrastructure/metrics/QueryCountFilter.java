@@ -0,0 +1,59 @@
+package com.ordersystem.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publica la cantidad de sentencias SQL ejecutadas por cada request de la API
+ *
+ * DistributionSummary {@code ordersystem.http.queries} con tags method y uri (patrón del endpoint,
+ * no la URI concreta, para no multiplicar las series). Se resuelve una sola vez por método y patrón.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "ordersystem.http.queries";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summaryFor(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN")
+                .record(QueryCountInspector.current());
+        }
+    }
+
+    private DistributionSummary summaryFor(String method, String uri) {
+        return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary.builder(METRIC_NAME)
+            .description("Sentencias SQL ejecutadas por request")
+            .baseUnit("queries")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,28 @@
+package com.ordersystem.infrastructure.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual
+ *
+ * {@link QueryCountFilter} reinicia el contador al inicio de cada request y publica el total al final.
+ * La inspección solo incrementa un contador por hilo, sin modificar la sentencia.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    static int current() {
+        return COUNTER.get()[0];
+    }
+}
@@ -0,0 +1,102 @@
+package com.ordersystem.infrastructure.metrics;
+
+import com.ordersystem.domain.exception.BusinessRuleException;
+import com.ordersystem.domain.exception.DomainException;
+import com.ordersystem.domain.exception.EntityNotFoundException;
+import com.ordersystem.domain.exception.InvalidStateTransitionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la duración de cada método público de los servicios de aplicación (incluidas las exportaciones)
+ *
+ * Solo se miden las clases {@code @Service} de la capa de aplicación: los componentes auxiliares
+ * (TerminalOrderCache, OrderLocks, CustomerEmailFilter), los listeners, el outbox y los trabajos
+ * programados se llaman en el camino de cada caso de uso o ya tienen sus propias métricas y no se proxean.
+ * Timer {@code ordersystem.service.calls} con tags service, method y outcome. El outcome distingue
+ * las excepciones de dominio para poder separar rechazos por reglas de negocio de errores reales.
+ * Los timers se resuelven una sola vez por método y outcome para mantener bajo el costo por llamada.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "ordersystem.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.ordersystem.application..*(..)) "
+        + "&& within(@org.springframework.stereotype.Service *)")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = Outcome.of(ex);
+            throw ex;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timerFor(method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerFor(Method method, Outcome outcome) {
+        Timer[] methodTimers = timers.computeIfAbsent(method, key -> new Timer[Outcome.values().length]);
+        Timer timer = methodTimers[outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(METRIC_NAME)
+                .description("Duración de los casos de uso de la capa de aplicación")
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome.tagValue)
+                .register(meterRegistry);
+            methodTimers[outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    enum Outcome {
+        SUCCESS("success"),
+        BUSINESS_RULE("business_rule"),
+        INVALID_TRANSITION("invalid_transition"),
+        NOT_FOUND("not_found"),
+        DOMAIN_ERROR("domain_error"),
+        ERROR("error");
+
+        private final String tagValue;
+
+        Outcome(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        static Outcome of(Throwable ex) {
+            if (ex instanceof InvalidStateTransitionException) {
+                return INVALID_TRANSITION;
+            }
+            if (ex instanceof BusinessRuleException) {
+                return BUSINESS_RULE;
+            }
+            if (ex instanceof EntityNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (ex instanceof DomainException) {
+                return DOMAIN_ERROR;
+            }
+            return ERROR;
+        }
+    }
+}
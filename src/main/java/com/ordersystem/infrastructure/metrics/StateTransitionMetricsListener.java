@@ -0,0 +1,82 @@
+package com.ordersystem.infrastructure.metrics;
+
+import com.ordersystem.domain.model.OrderStateHistory;
+import com.ordersystem.domain.model.PaymentTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuenta las transiciones de estado de órdenes y pagos
+ *
+ * Toda transición deja un registro en el historial (OrderStateHistory / PaymentTransaction), por lo que
+ * basta con escuchar su inserción. Se usa el evento post-commit de Hibernate para no contar transiciones
+ * de transacciones que terminan en rollback. El registro inicial de un pago (PENDING -> PENDING) no es
+ * una transición y se ignora.
+ *
+ * Counter {@code ordersystem.state.transitions} con tags entity, from y to.
+ */
+@Component
+@RequiredArgsConstructor
+public class StateTransitionMetricsListener implements PostCommitInsertEventListener {
+
+    static final String METRIC_NAME = "ordersystem.state.transitions";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_COMMIT_INSERT, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof OrderStateHistory history) {
+            increment("order", history.getPreviousStatus(), history.getNewStatus());
+        } else if (entity instanceof PaymentTransaction transaction) {
+            increment("payment", transaction.getPreviousStatus(), transaction.getNewStatus());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Una transición que no llegó a confirmarse no se cuenta
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == OrderStateHistory.class || entityClass == PaymentTransaction.class;
+    }
+
+    private void increment(String entity, Enum<?> from, Enum<?> to) {
+        if (from == to) {
+            return;
+        }
+        counters.computeIfAbsent(entity + ':' + from + ':' + to, key -> Counter.builder(METRIC_NAME)
+                .description("Transiciones de estado confirmadas")
+                .tag("entity", entity)
+                .tag("from", String.valueOf(from))
+                .tag("to", String.valueOf(to))
+                .register(meterRegistry))
+            .increment();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ordersystem.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Monitor de hilos virtuales que bloquean su carrier thread (pinning)
+ *
+ * Un hilo virtual queda fijado a su carrier cuando bloquea dentro de un bloque synchronized o de una
+ * llamada nativa; con suficientes pinnings el pool de carriers se agota y se pierde la ventaja del modo virtual.
+ * Escucha el evento JFR {@code jdk.VirtualThreadPinned} en streaming y lo publica como el timer
+ * {@code ordersystem.virtualthreads.pinned} (cantidad y duración de los bloqueos).
+ *
+ * Solo se activa con {@code spring.threads.virtual.enabled=true} sobre Java 21.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    void start() {
+        Timer pinned = Timer.builder("ordersystem.virtualthreads.pinned")
+            .description("Hilos virtuales bloqueados sobre su carrier thread")
+            .register(meterRegistry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+            .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+            .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.debug("Hilo virtual fijado {} ms en {}", event.getDuration().toMillis(), topFrame(event));
+        });
+        recordingStream.startAsync();
+        log.info("Monitor de pinning de hilos virtuales activo (umbral {} ms)", pinnedThresholdMs);
+    }
+
+    private String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "?";
+        }
+        RecordedFrame frame = event.getStackTrace().getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.ordersystem.infrastructure.scheduling;
+
+import com.ordersystem.domain.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases de trabajos programados en la tabla {@code job_leases}: cada trabajo corre en un solo nodo a la vez
+ *
+ * Un nodo toma el lease de un trabajo con un UPDATE condicional (si es suyo o si venció) o, la primera
+ * vez, insertando la fila; la clave primaria resuelve la carrera entre nodos. El dueño lo conserva
+ * entre ejecuciones y lo renueva en segundo plano cada {@code jobs.lease.renew-interval-ms}, en un hilo
+ * propio para que un trabajo largo no retrase la renovación. Si el nodo muere, el lease vence a los
+ * {@code jobs.lease.duration-ms} y otro nodo lo toma en su siguiente intento; al detenerse la aplicación
+ * los leases se liberan. Un nodo sin el lease reintenta como mucho una vez por intervalo de renovación.
+ *
+ * Las fechas se calculan con el reloj de cada nodo en UTC: los relojes deben estar sincronizados (NTP)
+ * con un desfase muy inferior a la duración del lease. Si un nodo pierde el lease durante una ejecución,
+ * esa ejecución termina igual; los trabajos procesan por bloques con condiciones sobre el estado, por lo
+ * que una ejecución superpuesta no repite cambios.
+ *
+ * Métricas: {@code ordersystem.jobs.lease.owned} (1 si el nodo tiene el lease, tag job) y
+ * {@code ordersystem.jobs.lease.changes} (tags job y event: acquired, lost, released).
+ */
+@Slf4j
+@Component
+public class JobLeaseManager {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final boolean enabled;
+    private final long durationMs;
+    private final long renewIntervalMs;
+
+    /**
+     * Leases del nodo con su vencimiento, y próximo intento de los trabajos cuyo lease tiene otro nodo
+     */
+    private final Map<String, LocalDateTime> held = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> nextAttempt = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> registeredJobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaseManager(JobLeaseRepository jobLeaseRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${jobs.lease.enabled:true}") boolean enabled,
+                           @Value("${jobs.lease.node-id:}") String nodeId,
+                           @Value("${jobs.lease.duration-ms:30000}") long durationMs,
+                           @Value("${jobs.lease.renew-interval-ms:10000}") long renewIntervalMs) {
+        if (renewIntervalMs >= durationMs) {
+            throw new IllegalArgumentException("El intervalo de renovación debe ser menor a la duración del lease");
+        }
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.durationMs = durationMs;
+        this.renewIntervalMs = renewIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            renewer.scheduleWithFixedDelay(this::renewAll, renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+            log.info("Leases de trabajos programados activos para el nodo {} (duración {} ms, renovación cada {} ms)",
+                nodeId, durationMs, renewIntervalMs);
+        }
+    }
+
+    /**
+     * true si el nodo tiene (o acaba de tomar) el lease del trabajo; sin leases habilitados siempre es true
+     */
+    public boolean tryAcquire(String job) {
+        if (!enabled) {
+            return true;
+        }
+        registerMetrics(job);
+
+        LocalDateTime now = now();
+        LocalDateTime expiresAt = held.get(job);
+        if (expiresAt != null && expiresAt.isAfter(now)) {
+            return true;
+        }
+        LocalDateTime retryAt = nextAttempt.get(job);
+        if (retryAt != null && retryAt.isAfter(now)) {
+            return false;
+        }
+
+        boolean acquired;
+        LocalDateTime newExpiresAt = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(durationMs));
+        try {
+            acquired = Boolean.TRUE.equals(transactionTemplate.execute(status -> acquire(job, now, newExpiresAt)));
+        } catch (DataAccessException | TransactionException ex) {
+            // Otro nodo insertó la fila primero, o la base de datos no está disponible
+            log.debug("No se pudo tomar el lease de {}: {}", job, ex.getMessage());
+            acquired = false;
+        }
+
+        if (!acquired) {
+            if (held.remove(job) != null) {
+                changes(job, "lost").increment();
+                log.warn("Lease de {} perdido por el nodo {}", job, nodeId);
+            }
+            nextAttempt.put(job, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(renewIntervalMs)));
+            return false;
+        }
+
+        nextAttempt.remove(job);
+        if (held.put(job, newExpiresAt) == null) {
+            changes(job, "acquired").increment();
+            log.info("Lease de {} tomado por el nodo {}", job, nodeId);
+        }
+        return true;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private boolean acquire(String job, LocalDateTime now, LocalDateTime expiresAt) {
+        if (jobLeaseRepository.acquireIfAvailable(job, nodeId, now, expiresAt) == 1) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(job)) {
+            return false;
+        }
+        // Primera ejecución del trabajo en el cluster: si otro nodo inserta la fila a la vez, falla por clave primaria
+        jobLeaseRepository.insert(job, nodeId, now, expiresAt);
+        return true;
+    }
+
+    /**
+     * Renueva los leases del nodo; uno que ya tiene otro dueño se da por perdido
+     */
+    void renewAll() {
+        for (String job : List.copyOf(held.keySet())) {
+            LocalDateTime expiresAt = now().plusNanos(TimeUnit.MILLISECONDS.toNanos(durationMs));
+            try {
+                Integer renewed = transactionTemplate.execute(status -> jobLeaseRepository.renew(job, nodeId, expiresAt));
+                if (renewed != null && renewed == 1) {
+                    held.put(job, expiresAt);
+                    continue;
+                }
+                held.remove(job);
+                changes(job, "lost").increment();
+                log.warn("Lease de {} tomado por otro nodo; el nodo {} deja de ejecutarlo", job, nodeId);
+            } catch (DataAccessException | TransactionException ex) {
+                // Se conserva hasta su vencimiento local: tryAcquire vuelve a la base de datos cuando vence
+                log.warn("No se pudo renovar el lease de {}: {}", job, ex.getMessage());
+            } catch (RuntimeException ex) {
+                log.error("Error inesperado al renovar el lease de {}", job, ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    void releaseAll() {
+        renewer.shutdownNow();
+        if (held.isEmpty()) {
+            return;
+        }
+        List<String> jobs = List.copyOf(held.keySet());
+        held.clear();
+        try {
+            transactionTemplate.execute(status -> jobLeaseRepository.release(jobs, nodeId, now()));
+            jobs.forEach(job -> changes(job, "released").increment());
+            log.info("Leases {} liberados por el nodo {}", jobs, nodeId);
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("No se pudieron liberar los leases {}; vencerán en {} ms: {}", jobs, durationMs, ex.getMessage());
+        }
+    }
+
+    private void registerMetrics(String job) {
+        registeredJobs.computeIfAbsent(job, key -> {
+            Gauge.builder("ordersystem.jobs.lease.owned", held, leases -> leases.containsKey(key) ? 1 : 0)
+                .description("1 si este nodo tiene el lease del trabajo")
+                .tag("job", key)
+                .register(meterRegistry);
+            return Boolean.TRUE;
+        });
+    }
+
+    private Counter changes(String job, String event) {
+        return Counter.builder("ordersystem.jobs.lease.changes")
+            .description("Cambios de dueño de los leases de este nodo")
+            .tag("job", job)
+            .tag("event", event)
+            .register(meterRegistry);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "unknown";
+        }
+        // El sufijo aleatorio distingue dos instancias en el mismo host y los reinicios de una misma instancia
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ordersystem.infrastructure.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método {@code @Scheduled} que debe ejecutarse en un solo nodo a la vez
+ *
+ * Cada ejecución se omite salvo que el nodo tenga el lease del trabajo ({@link JobLeaseManager}).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleNodeJob {
+
+    /**
+     * Nombre del trabajo, que identifica su lease en {@code job_leases}
+     */
+    String value();
+}
@@ -0,0 +1,26 @@
+package com.ordersystem.infrastructure.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ejecuta los métodos {@link SingleNodeJob} solo en el nodo que tiene el lease del trabajo
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SingleNodeJobAspect {
+
+    private final JobLeaseManager jobLeaseManager;
+
+    @Around("@annotation(singleNodeJob)")
+    public Object runIfLeaseHolder(ProceedingJoinPoint joinPoint, SingleNodeJob singleNodeJob) throws Throwable {
+        if (!jobLeaseManager.tryAcquire(singleNodeJob.value())) {
+            return null;
+        }
+        return joinPoint.proceed();
+    }
+}
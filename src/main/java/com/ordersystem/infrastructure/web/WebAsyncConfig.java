@@ -0,0 +1,71 @@
+package com.ordersystem.infrastructure.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Ejecutor propio de las respuestas asíncronas de Spring MVC (las exportaciones con StreamingResponseBody)
+ *
+ * Una exportación ocupa un hilo y una conexión a la base de datos mientras dura, que pueden ser minutos.
+ * En el ejecutor compartido de {@code @Async} unas pocas exportaciones en paralelo dejarían sin hilos al
+ * resto de las tareas asíncronas, por lo que se ejecutan en un pool chico y acotado: con el pool y la cola
+ * llenos la exportación se rechaza con 503 en lugar de esperar.
+ *
+ * El ejecutor no se publica como bean para no reemplazar el ejecutor de {@code @Async} autoconfigurado.
+ * El timeout de las peticiones sigue siendo {@code spring.mvc.async.request-timeout}.
+ *
+ * Métricas: executor.* con tag name=mvc.async.
+ */
+@Slf4j
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public WebAsyncConfig(MeterRegistry meterRegistry,
+                          Environment environment,
+                          @Value("${export.executor.core-size:2}") int coreSize,
+                          @Value("${export.executor.max-size:4}") int maxSize,
+                          @Value("${export.executor.queue-capacity:10}") int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("mvc-async-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "mvc.async", Tags.empty())
+            .bindTo(meterRegistry);
+        log.info("Pool de respuestas asíncronas creado (core={}, max={}, cola={}, virtual={})",
+            coreSize, maxSize, queueCapacity, Threading.VIRTUAL.isActive(environment));
+    }
+
+    /**
+     * Se aplica después de la configuración de Spring Boot, que asigna el ejecutor de {@code @Async}
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,273 @@
+package com.ordersystem.application.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.api.controller.ExportController;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.model.Payment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de las exportaciones contra H2: formato de las filas, filtros, gzip y corte por cliente desconectado
+ */
+@DataJpaTest
+@DisplayName("Tests de exportación - ExportService")
+class ExportServiceTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2026, 1, 10, 10, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2026, 2, 10, 10, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExportService exportService;
+    private Customer customer;
+    private Customer otherCustomer;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(dataSource, transactionManager, objectMapper, meterRegistry, 2);
+        customer = entityManager.persist(Customer.builder()
+            .name("Cliente Test")
+            .email("cliente@test.com")
+            .build());
+        otherCustomer = entityManager.persist(Customer.builder()
+            .name("Otro Cliente")
+            .email("\"con,coma\"@test.com")
+            .build());
+    }
+
+    @Test
+    @DisplayName("El CSV tiene encabezado, decimales sin notación científica y los campos con comas o comillas escapados")
+    void shouldWriteCsvWithHeaderAndEscapedFields() throws IOException {
+        // Given
+        Order order = persistOrder(otherCustomer, OrderStatus.CONFIRMED, JANUARY);
+        entityManager.flush();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportOrders(new ExportFilter(null, null, null, null), ExportFormat.CSV, out);
+
+        // Then
+        assertEquals(1, rows);
+        assertEquals("id,customerId,customerEmail,status,totalAmount,paidAmount,createdAt\r\n"
+                + order.getId() + "," + otherCustomer.getId() + ",\"\"\"con,coma\"\"@test.com\","
+                + "CONFIRMED,100.00,0.00,2026-01-10T10:00\r\n",
+            out.toString(StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.get("ordersystem.export.rows")
+            .tag("dataset", "orders").tag("format", "csv").counter().count());
+    }
+
+    @Test
+    @DisplayName("El NDJSON escribe un objeto por línea con números, cadenas y fechas ISO-8601")
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        Order first = persistOrder(customer, OrderStatus.CREATED, JANUARY);
+        Order second = persistOrder(otherCustomer, OrderStatus.PAID, FEBRUARY);
+        Payment payment = persistPayment(second, PaymentStatus.APPROVED, FEBRUARY);
+        entityManager.flush();
+
+        // When
+        ByteArrayOutputStream orders = new ByteArrayOutputStream();
+        ByteArrayOutputStream payments = new ByteArrayOutputStream();
+        exportService.exportOrders(new ExportFilter(null, null, null, null), ExportFormat.NDJSON, orders);
+        exportService.exportPayments(new ExportFilter(null, null, null, null), ExportFormat.NDJSON, payments);
+
+        // Then
+        String[] lines = orders.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode firstRow = objectMapper.readTree(lines[0]);
+        assertEquals(first.getId(), firstRow.get("id").longValue());
+        assertEquals(customer.getId(), firstRow.get("customerId").longValue());
+        assertEquals("cliente@test.com", firstRow.get("customerEmail").textValue());
+        assertEquals("CREATED", firstRow.get("status").textValue());
+        assertEquals(0, new BigDecimal("100.00").compareTo(firstRow.get("totalAmount").decimalValue()));
+        assertEquals("2026-01-10T10:00", firstRow.get("createdAt").textValue());
+        assertEquals(second.getId(), objectMapper.readTree(lines[1]).get("id").longValue());
+
+        JsonNode paymentRow = objectMapper.readTree(payments.toString(StandardCharsets.UTF_8).trim());
+        List<String> paymentFields = new ArrayList<>();
+        paymentRow.fieldNames().forEachRemaining(paymentFields::add);
+        assertEquals(List.of("id", "orderId", "customerId", "status", "amount", "createdAt"), paymentFields);
+        assertEquals(payment.getId(), paymentRow.get("id").longValue());
+        assertEquals(second.getId(), paymentRow.get("orderId").longValue());
+        assertEquals(otherCustomer.getId(), paymentRow.get("customerId").longValue());
+    }
+
+    @Test
+    @DisplayName("Cada filtro (estado, cliente, desde inclusive, hasta exclusive) restringe las filas exportadas")
+    void shouldApplyEachFilterClause() throws IOException {
+        // Given
+        Order created = persistOrder(customer, OrderStatus.CREATED, JANUARY);
+        Order paid = persistOrder(customer, OrderStatus.PAID, FEBRUARY);
+        Order otherCustomerOrder = persistOrder(otherCustomer, OrderStatus.PAID, FEBRUARY);
+        Payment approved = persistPayment(paid, PaymentStatus.APPROVED, FEBRUARY);
+        Payment rejected = persistPayment(otherCustomerOrder, PaymentStatus.REJECTED, JANUARY);
+        entityManager.flush();
+
+        // When/Then
+        assertEquals(List.of(created.getId(), paid.getId(), otherCustomerOrder.getId()),
+            exportedOrderIds(new ExportFilter(null, null, null, null)));
+        assertEquals(List.of(paid.getId(), otherCustomerOrder.getId()),
+            exportedOrderIds(new ExportFilter("PAID", null, null, null)));
+        assertEquals(List.of(created.getId(), paid.getId()),
+            exportedOrderIds(new ExportFilter(null, customer.getId(), null, null)));
+        assertEquals(List.of(paid.getId(), otherCustomerOrder.getId()),
+            exportedOrderIds(new ExportFilter(null, null, FEBRUARY, null)));
+        assertEquals(List.of(created.getId()),
+            exportedOrderIds(new ExportFilter(null, null, null, FEBRUARY)));
+
+        assertEquals(List.of(rejected.getId()), exportedPaymentIds(new ExportFilter("REJECTED", null, null, null)));
+        assertEquals(List.of(approved.getId()), exportedPaymentIds(new ExportFilter(null, customer.getId(), null, null)));
+        assertEquals(List.of(approved.getId()), exportedPaymentIds(new ExportFilter(null, null, FEBRUARY, null)));
+        assertEquals(List.of(rejected.getId()), exportedPaymentIds(new ExportFilter(null, null, null, FEBRUARY)));
+    }
+
+    @Test
+    @DisplayName("Con gzip la respuesta declara Content-Encoding y se descomprime al mismo contenido")
+    void shouldCompressResponseWithGzip() throws IOException {
+        // Given
+        persistOrder(customer, OrderStatus.CREATED, JANUARY);
+        persistOrder(otherCustomer, OrderStatus.PAID, FEBRUARY);
+        entityManager.flush();
+        ExportController controller = new ExportController(exportService);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        exportService.exportOrders(new ExportFilter(null, null, null, null), ExportFormat.CSV, plain);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = controller.exportOrders("csv", null, null, null, null, true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        response.getBody().writeTo(compressed);
+
+        // Then
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(plain.toByteArray(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Si el cliente se desconecta a mitad de la exportación se corta el cursor y no se cuentan filas")
+    void shouldStopReadingWhenClientDisconnects() {
+        // Given
+        for (int i = 0; i < 300; i++) {
+            persistOrder(customer, OrderStatus.CREATED, JANUARY);
+        }
+        entityManager.flush();
+        DisconnectingOutputStream out = new DisconnectingOutputStream(4096);
+
+        // When/Then
+        IOException ex = assertThrows(IOException.class,
+            () -> exportService.exportOrders(new ExportFilter(null, null, null, null), ExportFormat.CSV, out));
+        assertEquals("Broken pipe", ex.getMessage());
+        assertEquals(1, out.failedWrites);
+        assertNull(meterRegistry.find("ordersystem.export.rows").counter());
+    }
+
+    private List<Long> exportedOrderIds(ExportFilter filter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(filter, ExportFormat.NDJSON, out);
+        return ids(out);
+    }
+
+    private List<Long> exportedPaymentIds(ExportFilter filter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPayments(filter, ExportFormat.NDJSON, out);
+        return ids(out);
+    }
+
+    private List<Long> ids(ByteArrayOutputStream out) throws IOException {
+        String content = out.toString(StandardCharsets.UTF_8);
+        if (content.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").longValue());
+        }
+        return ids;
+    }
+
+    private Order persistOrder(Customer owner, OrderStatus status, LocalDateTime createdAt) {
+        return entityManager.persist(Order.builder()
+            .customer(owner)
+            .status(status)
+            .totalAmount(BigDecimal.valueOf(100))
+            .createdAt(createdAt)
+            .build());
+    }
+
+    private Payment persistPayment(Order order, PaymentStatus status, LocalDateTime createdAt) {
+        return entityManager.persist(Payment.builder()
+            .order(order)
+            .amount(BigDecimal.valueOf(10))
+            .status(status)
+            .createdAt(createdAt)
+            .build());
+    }
+
+    /**
+     * Stream de respuesta que falla como un socket cerrado por el cliente después de recibir {@code limit} bytes
+     */
+    private static final class DisconnectingOutputStream extends OutputStream {
+
+        private final int limit;
+        private int written;
+        private int failedWrites;
+
+        DisconnectingOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (written + len > limit) {
+                failedWrites++;
+                throw new IOException("Broken pipe");
+            }
+            written += len;
+        }
+    }
+}
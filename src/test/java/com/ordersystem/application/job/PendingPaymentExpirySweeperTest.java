@@ -0,0 +1,102 @@
+package com.ordersystem.application.job;
+
+import com.ordersystem.application.service.PaymentService;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del barrido de pagos PENDING vencidos
+ */
+@DisplayName("Tests de vencimiento de pagos pendientes - PendingPaymentExpirySweeper")
+class PendingPaymentExpirySweeperTest {
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PendingPaymentExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new PendingPaymentExpirySweeper(paymentRepository, paymentService, meterRegistry);
+        ReflectionTestUtils.setField(sweeper, "maxAgeMinutes", 30L);
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Recorre los pagos vencidos por ID en bloques, con el mismo corte, hasta un bloque incompleto")
+    void shouldWalkExpiredPaymentsByIdInChunks() {
+        // Given
+        when(paymentRepository.findIdsByStatusCreatedBefore(eq(PaymentStatus.PENDING), any(), eq(0L), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(paymentRepository.findIdsByStatusCreatedBefore(eq(PaymentStatus.PENDING), any(), eq(2L), any()))
+            .thenReturn(List.of(5L));
+        when(paymentService.expirePendingPayments(eq(List.of(1L, 2L)), any())).thenReturn(2);
+        when(paymentService.expirePendingPayments(eq(List.of(5L)), any())).thenReturn(1);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(30);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentService, times(2)).expirePendingPayments(anyCollection(), cutoffs.capture());
+        assertEquals(1, cutoffs.getAllValues().stream().distinct().count());
+        assertFalse(cutoffs.getValue().isBefore(before));
+        assertFalse(cutoffs.getValue().isAfter(LocalDateTime.now().minusMinutes(30)));
+        verify(paymentRepository, never()).findIdsByStatusCreatedBefore(any(), any(), eq(5L), any());
+        assertEquals(3.0, meterRegistry.get("ordersystem.payments.expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("Un bloque que falla no se cuenta y el barrido sigue con el siguiente")
+    void shouldSkipFailedChunkAndContinue() {
+        // Given
+        when(paymentRepository.findIdsByStatusCreatedBefore(eq(PaymentStatus.PENDING), any(), eq(0L), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(paymentRepository.findIdsByStatusCreatedBefore(eq(PaymentStatus.PENDING), any(), eq(2L), any()))
+            .thenReturn(List.of(3L, 4L));
+        when(paymentRepository.findIdsByStatusCreatedBefore(eq(PaymentStatus.PENDING), any(), eq(4L), any()))
+            .thenReturn(List.of());
+        when(paymentService.expirePendingPayments(eq(List.of(1L, 2L)), any()))
+            .thenThrow(new CannotAcquireLockException("lock no disponible"));
+        when(paymentService.expirePendingPayments(eq(List.of(3L, 4L)), any())).thenReturn(1);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(paymentService, times(2)).expirePendingPayments(anyCollection(), any());
+        assertEquals(1.0, meterRegistry.get("ordersystem.payments.expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("Sin pagos vencidos no se abre ninguna transacción")
+    void shouldDoNothingWithoutExpiredPayments() {
+        // Given
+        when(paymentRepository.findIdsByStatusCreatedBefore(any(), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verifyNoInteractions(paymentService);
+        assertEquals(0.0, meterRegistry.get("ordersystem.payments.expired").counter().count());
+    }
+}
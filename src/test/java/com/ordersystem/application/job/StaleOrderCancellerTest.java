@@ -0,0 +1,108 @@
+package com.ordersystem.application.job;
+
+import com.ordersystem.application.service.OrderService;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.repository.OrderRepository;
+import com.ordersystem.domain.repository.projection.OrderStatusCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la cancelación de órdenes abandonadas
+ */
+@DisplayName("Tests de cancelación de órdenes vencidas - StaleOrderCanceller")
+class StaleOrderCancellerTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StaleOrderCanceller canceller;
+
+    @BeforeEach
+    void setUp() {
+        canceller = new StaleOrderCanceller(orderRepository, orderService, meterRegistry);
+        ReflectionTestUtils.setField(canceller, "ttlHours", 72L);
+        ReflectionTestUtils.setField(canceller, "chunkSize", 2);
+        ReflectionTestUtils.setField(canceller, "maxChunksPerRun", 10);
+    }
+
+    @Test
+    @DisplayName("En simulación solo se cuentan las candidatas por estado, sin cancelar")
+    void shouldOnlyCountCandidatesInDryRun() {
+        // Given
+        ReflectionTestUtils.setField(canceller, "dryRun", true);
+        when(orderRepository.countByStatusInCreatedBefore(anyCollection(), any())).thenReturn(List.of(
+            new OrderStatusCount(OrderStatus.CREATED, 3L),
+            new OrderStatusCount(OrderStatus.CONFIRMED, 2L)));
+
+        // When
+        canceller.run();
+
+        // Then
+        assertEquals(3.0, candidates(OrderStatus.CREATED));
+        assertEquals(2.0, candidates(OrderStatus.CONFIRMED));
+        verifyNoInteractions(orderService);
+        verify(orderRepository, never()).findIdsByStatusInCreatedBefore(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Un bloque que falla por versión no se cuenta y el barrido sigue con el siguiente")
+    void shouldSkipFailedChunkAndContinue() {
+        // Given
+        when(orderRepository.findIdsByStatusInCreatedBefore(anyCollection(), any(), eq(0L), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(orderRepository.findIdsByStatusInCreatedBefore(anyCollection(), any(), eq(2L), any()))
+            .thenReturn(List.of(3L));
+        when(orderService.cancelStaleOrders(eq(List.of(1L, 2L)), anyCollection(), any()))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 2L));
+        when(orderService.cancelStaleOrders(eq(List.of(3L)), anyCollection(), any()))
+            .thenReturn(Map.of(OrderStatus.CREATED, 1));
+
+        // When
+        canceller.run();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("ordersystem.orders.auto_cancelled").tag("from", "CREATED").counter().count());
+        verify(orderService, times(2)).cancelStaleOrders(anyCollection(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Cada ciclo procesa como mucho max-chunks-per-run bloques y el siguiente continúa desde el último ID")
+    void shouldResumeFromLastIdOnNextRun() {
+        // Given
+        ReflectionTestUtils.setField(canceller, "maxChunksPerRun", 1);
+        when(orderRepository.findIdsByStatusInCreatedBefore(anyCollection(), any(), eq(0L), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(orderRepository.findIdsByStatusInCreatedBefore(anyCollection(), any(), eq(2L), any()))
+            .thenReturn(List.of(3L, 4L));
+        when(orderService.cancelStaleOrders(anyCollection(), anyCollection(), any())).thenReturn(Map.of());
+
+        // When
+        canceller.run();
+        canceller.run();
+
+        // Then
+        verify(orderService).cancelStaleOrders(eq(List.of(1L, 2L)), anyCollection(), any());
+        verify(orderService).cancelStaleOrders(eq(List.of(3L, 4L)), anyCollection(), any());
+        verify(orderRepository, never()).findIdsByStatusInCreatedBefore(anyCollection(), any(), eq(4L), any());
+    }
+
+    private double candidates(OrderStatus status) {
+        return meterRegistry.get("ordersystem.orders.auto_cancel.candidates").tag("status", status.name()).gauge().value();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ordersystem.application.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.event.PaymentApprovedEvent;
+import com.ordersystem.domain.model.OutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios de la serialización de eventos de dominio hacia y desde el outbox
+ */
+@DisplayName("Tests de serialización de eventos - Outbox")
+class DomainEventSerializerTest {
+
+    private final DomainEventSerializer serializer = new DomainEventSerializer(new ObjectMapper());
+
+    @Test
+    @DisplayName("Un evento de pago aprobado conserva sus datos, la escala del monto y su instante original")
+    void shouldRoundTripPaymentApprovedEvent() {
+        // Given
+        PaymentApprovedEvent original = new PaymentApprovedEvent(this, 10L, 20L, new BigDecimal("100.50"));
+
+        // When
+        OutboxEvent outboxEvent = serializer.toOutboxEvent(original);
+        PaymentApprovedEvent restored = (PaymentApprovedEvent) serializer.fromOutboxEvent(outboxEvent, this);
+
+        // Then
+        assertEquals("PaymentApprovedEvent", outboxEvent.getEventType());
+        assertEquals(10L, outboxEvent.getAggregateId());
+        assertEquals(10L, restored.getPaymentId());
+        assertEquals(20L, restored.getOrderId());
+        assertEquals(new BigDecimal("100.50"), restored.getAmount());
+        assertEquals(original.getOccurredAt(), restored.getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("Un evento con datos opcionales nulos se puede reconstruir")
+    void shouldRoundTripEventWithNullFields() {
+        // Given
+        OrderConfirmedEvent original = new OrderConfirmedEvent(this, 5L, null);
+
+        // When
+        OrderConfirmedEvent restored = (OrderConfirmedEvent) serializer.fromOutboxEvent(
+            serializer.toOutboxEvent(original), this);
+
+        // Then
+        assertEquals(5L, restored.getOrderId());
+        assertNull(restored.getCustomerId());
+    }
+
+    @Test
+    @DisplayName("Un evento de orden cancelada conserva la orden, el cliente y su instante original")
+    void shouldRoundTripOrderCancelledEvent() {
+        // Given
+        OrderCancelledEvent original = new OrderCancelledEvent(this, 7L, 3L);
+
+        // When
+        OutboxEvent outboxEvent = serializer.toOutboxEvent(original);
+        OrderCancelledEvent restored = (OrderCancelledEvent) serializer.fromOutboxEvent(outboxEvent, this);
+
+        // Then
+        assertEquals("OrderCancelledEvent", outboxEvent.getEventType());
+        assertEquals(7L, outboxEvent.getAggregateId());
+        assertEquals(7L, restored.getOrderId());
+        assertEquals(3L, restored.getCustomerId());
+        assertEquals(original.getOccurredAt(), restored.getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("Un tipo de evento desconocido en el outbox se rechaza")
+    void shouldRejectUnknownEventType() {
+        // Given
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+            .id(1L)
+            .eventType("UnknownEvent")
+            .payload("{\"occurredAt\":\"2024-01-01T00:00:00Z\"}")
+            .build();
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> serializer.fromOutboxEvent(outboxEvent, this));
+    }
+}
@@ -0,0 +1,150 @@
+package com.ordersystem.application.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.model.OutboxEvent;
+import com.ordersystem.domain.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del relay del outbox: límites de las transacciones y checkpoint del lote
+ */
+@DisplayName("Tests del relay del outbox - OutboxRelay")
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final DomainEventSerializer serializer = new DomainEventSerializer(new ObjectMapper());
+    private final OutboxEventDispatcher dispatcher = mock(OutboxEventDispatcher.class);
+    private final EventDispatchExecutor dispatchExecutor = mock(EventDispatchExecutor.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<String> calls = new ArrayList<>();
+
+    private OutboxRelay relay;
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, serializer, dispatcher, dispatchExecutor, transactionTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(relay, "dispatchTimeoutMs", 1000L);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            calls.add("tx");
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class));
+            } finally {
+                inTransaction = false;
+            }
+        });
+        doAnswer(invocation -> {
+            calls.add("tx");
+            inTransaction = true;
+            try {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        // Como CALLER_RUNS: el listener corre en el hilo del relay
+        when(dispatchExecutor.submit(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Test
+    @DisplayName("Los listeners corren sin transacción abierta, entre la lectura y el checkpoint")
+    void shouldDispatchOutsideTransactions() {
+        // Given
+        OutboxEvent confirmed = outboxEvent(1L, serializer.toOutboxEvent(new OrderConfirmedEvent(this, 5L, null)));
+        OutboxEvent cancelled = outboxEvent(2L, serializer.toOutboxEvent(new OrderCancelledEvent(this, 6L, 7L)));
+        when(outboxEventRepository.findPending(eq(10), eq(0L), any())).thenReturn(List.of(confirmed, cancelled));
+        doAnswer(invocation -> {
+            assertFalse(inTransaction, "el listener no debe correr dentro de una transacción");
+            calls.add("dispatch");
+            return null;
+        }).when(dispatcher).dispatch(any());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertEquals(List.of("tx", "dispatch", "dispatch", "tx"), calls);
+        verify(outboxEventRepository).markDispatched(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Un listener fallido o un evento ilegible consumen un intento y el resto se marca procesado")
+    void shouldCheckpointDispatchedAndFailedEvents() {
+        // Given
+        OutboxEvent confirmed = outboxEvent(1L, serializer.toOutboxEvent(new OrderConfirmedEvent(this, 5L, null)));
+        OutboxEvent failing = outboxEvent(2L, serializer.toOutboxEvent(new OrderCancelledEvent(this, 6L, 7L)));
+        OutboxEvent unreadable = outboxEvent(3L, OutboxEvent.builder().eventType("Desconocido").payload("{}").build());
+        when(outboxEventRepository.findPending(eq(10), eq(0L), any())).thenReturn(List.of(confirmed, failing, unreadable));
+        doThrow(new IllegalStateException("listener caído")).when(dispatcher).dispatch(any(OrderCancelledEvent.class));
+        doAnswer(invocation -> {
+            try {
+                invocation.<Runnable>getArgument(1).run();
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }).when(dispatchExecutor).submit(anyString(), any());
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository).markDispatched(eq(List.of(1L)), any());
+        verify(outboxEventRepository).markFailed(2L, "listener caído");
+        verify(outboxEventRepository).markFailed(eq(3L), anyString());
+        verify(outboxEventRepository, times(1)).findPending(anyInt(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Un evento rechazado por cola llena queda pendiente sin checkpoint")
+    void shouldLeaveRejectedEventsPending() {
+        // Given
+        OutboxEvent confirmed = outboxEvent(1L, serializer.toOutboxEvent(new OrderConfirmedEvent(this, 5L, null)));
+        when(outboxEventRepository.findPending(eq(10), eq(0L), any())).thenReturn(List.of(confirmed));
+        doThrow(new RejectedExecutionException("cola llena")).when(dispatchExecutor).submit(anyString(), any());
+
+        // When
+        relay.relay();
+
+        // Then
+        assertEquals(List.of("tx"), calls);
+        verify(outboxEventRepository, never()).markDispatched(any(), any());
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any());
+    }
+
+    private static OutboxEvent outboxEvent(Long id, OutboxEvent event) {
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ordersystem.application.service;
+
+import com.ordersystem.domain.repository.CustomerRepository;
+import com.ordersystem.domain.repository.projection.CustomerEmailView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del filtro de Bloom de emails de clientes
+ */
+@DisplayName("Tests del filtro de emails - CustomerEmailFilter")
+class CustomerEmailFilterTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Antes de la carga inicial todo email se trata como posible duplicado")
+    void shouldTreatEveryEmailAsPossibleBeforeLoading() {
+        // Given
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, meterRegistry, 1000, 0.01);
+
+        // Then
+        assertTrue(filter.mightContain("nuevo@example.com"));
+    }
+
+    @Test
+    @DisplayName("La carga recorre los emails por cursor y nunca descarta un email existente")
+    void shouldLoadExistingEmailsInBatches() {
+        // Given
+        List<CustomerEmailView> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstBatch.add(new CustomerEmailView(id, "cliente" + id + "@example.com"));
+        }
+        when(customerRepository.findEmailsAfter(eq(0L), any(Limit.class))).thenReturn(firstBatch);
+        when(customerRepository.findEmailsAfter(eq(1000L), any(Limit.class)))
+            .thenReturn(List.of(new CustomerEmailView(1001L, "ultimo@example.com")));
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, meterRegistry, 10_000, 0.01);
+
+        // When
+        filter.load();
+
+        // Then
+        for (CustomerEmailView customer : firstBatch) {
+            assertTrue(filter.mightContain(customer.email()));
+        }
+        assertTrue(filter.mightContain("ultimo@example.com"));
+        verify(customerRepository, times(2)).findEmailsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("La tasa de falsos positivos se mantiene cerca de la configurada")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        when(customerRepository.findEmailsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, meterRegistry, 10_000, 0.01);
+        filter.load();
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("existente" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("nuevo" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 300, "Falsos positivos: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        assertEquals(10_000 - falsePositives,
+            meterRegistry.get("ordersystem.customers.email_filter.checks").tag("result", "negative").counter().count());
+        assertTrue(meterRegistry.get("ordersystem.customers.email_filter.memory").gauge().value() > 0);
+    }
+}
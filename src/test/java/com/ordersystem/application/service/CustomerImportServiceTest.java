@@ -0,0 +1,154 @@
+package com.ordersystem.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.api.dto.response.CustomerImportResponse;
+import com.ordersystem.api.dto.response.CustomerImportRowResponse;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.repository.CustomerRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la importación masiva de clientes
+ */
+@DisplayName("Tests de importación de clientes - CustomerImportService")
+@SuppressWarnings("unchecked")
+class CustomerImportServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final CustomerEmailFilter emailFilter = mock(CustomerEmailFilter.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<Customer> saved = new ArrayList<>();
+
+    private CustomerImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CustomerImportService(customerRepository, emailFilter, transactionTemplate,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedRows", 10);
+
+        when(emailFilter.mightContain(any())).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(customerRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            saved.addAll(invocation.<Collection<Customer>>getArgument(0));
+            return List.copyOf(invocation.<Collection<Customer>>getArgument(0));
+        });
+    }
+
+    @Test
+    @DisplayName("Un CSV se importa por bloques separando creados, duplicados e inválidos")
+    void shouldImportCsvAndReportRejectedRows() throws IOException {
+        // Given
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of("existente@example.com"));
+        String csv = """
+            email,name
+            ana@example.com,Ana
+            existente@example.com,Existente
+
+            ana@example.com,Ana otra vez
+            correo-invalido,Sin email
+            "luis@example.com","Pérez, Luis"
+            """;
+
+        // When
+        CustomerImportResponse response = importService.importCustomers(stream(csv), CustomerImportService.Format.CSV);
+
+        // Then
+        assertEquals(5, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getInvalid());
+        assertEquals(List.of("ana@example.com", "luis@example.com"), saved.stream().map(Customer::getEmail).toList());
+        assertEquals("Pérez, Luis", saved.get(1).getName());
+        assertEquals(List.of(3L, 5L, 6L), response.getRejected().stream().map(CustomerImportRowResponse::getLine).toList());
+        verify(customerRepository, times(2)).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Un NDJSON con una línea ilegible importa el resto; los emails que el filtro descarta no se consultan")
+    void shouldImportNdjsonSkippingUnreadableLines() throws IOException {
+        // Given
+        when(emailFilter.mightContain(any())).thenReturn(false);
+        String ndjson = """
+            {"name":"Ana","email":"ana@example.com"}
+            {"name":
+            {"name":"Luis","email":"luis@example.com"}
+            """;
+
+        // When
+        CustomerImportResponse response = importService.importCustomers(stream(ndjson), CustomerImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getInvalid());
+        assertEquals(CustomerImportRowResponse.Outcome.INVALID, response.getRejected().get(0).getOutcome());
+        assertEquals(2L, response.getRejected().get(0).getLine());
+        verify(customerRepository, never()).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Si el bloque choca con la restricción única se reintenta fila a fila")
+    void shouldRetryRowByRowOnUniqueConstraintViolation() throws IOException {
+        // Given
+        when(customerRepository.saveAll(anyCollection()))
+            .thenThrow(new DataIntegrityViolationException("duplicado"))
+            .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Customer>>getArgument(0)))
+            .thenThrow(new DataIntegrityViolationException("duplicado"));
+        String csv = """
+            name,email
+            Ana,ana@example.com
+            Luis,luis@example.com
+            """;
+
+        // When
+        CustomerImportResponse response = importService.importCustomers(stream(csv), CustomerImportService.Format.CSV);
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+        assertEquals("luis@example.com", response.getRejected().get(0).getEmail());
+    }
+
+    @Test
+    @DisplayName("Un CSV sin las columnas name y email se rechaza completo")
+    void shouldRejectCsvWithoutRequiredHeader() {
+        assertThrows(IllegalArgumentException.class,
+            () -> importService.importCustomers(stream("nombre,correo\nAna,ana@example.com\n"), CustomerImportService.Format.CSV));
+    }
+
+    @Test
+    @DisplayName("Un tamaño de bloque menor a 1 se rechaza al iniciar")
+    void shouldRejectNonPositiveChunkSize() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 0);
+
+        assertThrows(IllegalArgumentException.class, () -> importService.validateConfiguration());
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,284 @@
+package com.ordersystem.application.service;
+
+import com.ordersystem.api.dto.response.OrderResponse;
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.event.OrderCancelledEvent;
+import com.ordersystem.domain.event.OrderConfirmedEvent;
+import com.ordersystem.domain.exception.EntityNotFoundException;
+import com.ordersystem.domain.exception.InvalidStateTransitionException;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.repository.CustomerRepository;
+import com.ordersystem.domain.repository.OrderRepository;
+import com.ordersystem.domain.repository.OrderStateHistoryRepository;
+import com.ordersystem.domain.repository.projection.OrderView;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para las reglas de negocio del servicio de órdenes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de reglas de negocio - OrderService")
+@SuppressWarnings("null")
+class OrderServiceTest {
+
+    private static final Set<OrderStatus> STALE_STATUSES = EnumSet.of(OrderStatus.CREATED, OrderStatus.CONFIRMED);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderStateHistoryRepository stateHistoryRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private TerminalOrderCache terminalOrderCache;
+
+    @Spy
+    private OrderLocks orderLocks = new OrderLocks(16, 1000);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        customer = Customer.builder()
+            .id(1L)
+            .name("Cliente Test")
+            .email("cliente@test.com")
+            .build();
+    }
+
+    @Test
+    @DisplayName("Las órdenes vencidas que cambiaron después del barrido de IDs no se cancelan")
+    void shouldCancelOnlyOrdersStillStaleWhenReloaded() {
+        // Given: de las tres órdenes del bloque, solo la 1 sigue abandonada al recargarla
+        Order stale = order(1L, OrderStatus.CONFIRMED);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(72);
+        List<Long> chunk = List.of(1L, 2L, 3L);
+        when(orderRepository.findAllByIdInAndStatusInCreatedBefore(chunk, STALE_STATUSES, cutoff))
+            .thenReturn(List.of(stale));
+
+        // When
+        Map<OrderStatus, Integer> cancelled = orderService.cancelStaleOrders(chunk, STALE_STATUSES, cutoff);
+
+        // Then
+        assertEquals(Map.of(OrderStatus.CONFIRMED, 1), cancelled);
+        assertEquals(OrderStatus.CANCELLED, stale.getStatus());
+        verify(eventPublisher, times(1)).publishEvent(any(OrderCancelledEvent.class));
+        verify(orderLocks).withLocks(eq(chunk), any());
+    }
+
+    @Test
+    @DisplayName("Un conflicto de versión al confirmar hace fallar el bloque completo, sin reintentos")
+    void shouldFailWholeChunkOnVersionConflict() {
+        // Given: el bloque se procesa pero otra escritura sobre la orden 2 gana la carrera al confirmar
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(72);
+        List<Long> chunk = List.of(1L, 2L);
+        when(orderRepository.findAllByIdInAndStatusInCreatedBefore(chunk, STALE_STATUSES, cutoff))
+            .thenReturn(List.of(order(1L, OrderStatus.CREATED), order(2L, OrderStatus.CONFIRMED)));
+        doAnswer(invocation -> {
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            throw new ObjectOptimisticLockingFailureException(Order.class, 2L);
+        }).when(transactionTemplate).execute(any());
+
+        // When/Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> orderService.cancelStaleOrders(chunk, STALE_STATUSES, cutoff));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Una orden terminal en caché se sirve sin abrir transacción ni consultar la base de datos")
+    void shouldServeCachedTerminalOrderWithoutTransaction() {
+        // Given
+        OrderResponse cached = OrderResponse.builder().id(1L).status(OrderStatus.SHIPPED).build();
+        when(terminalOrderCache.getOrder(1L)).thenReturn(Optional.of(cached));
+
+        // When
+        OrderResponse response = orderService.getOrderById(1L, false);
+
+        // Then
+        assertSame(cached, response);
+        verifyNoInteractions(orderRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Si la orden no está en caché se lee en una transacción de solo lectura y se guarda en caché")
+    void shouldLoadOrderInReadOnlyTransactionOnCacheMiss() {
+        // Given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionTemplate.getTransactionManager()).thenReturn(transactionManager);
+        when(terminalOrderCache.getOrder(1L)).thenReturn(Optional.empty());
+        stubOrderView(OrderStatus.CANCELLED);
+
+        // When
+        OrderResponse response = orderService.getOrderById(1L, false);
+
+        // Then
+        assertEquals(OrderStatus.CANCELLED, response.getStatus());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(terminalOrderCache).putOrder(response);
+    }
+
+    @Test
+    @DisplayName("Confirmar una orden lee su estado, ejecuta un único UPDATE condicional y registra el historial")
+    void shouldConfirmOrderWithSingleGuardedUpdate() {
+        // Given
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.CREATED));
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.CONFIRMED)).thenReturn(1);
+        when(orderRepository.getReferenceById(1L)).thenReturn(order(1L, OrderStatus.CONFIRMED));
+        stubOrderView(OrderStatus.CONFIRMED);
+
+        // When
+        orderService.confirmOrder(1L);
+
+        // Then
+        verify(orderRepository, times(1)).updateStatusIfCurrent(any(), any(), any());
+        verify(stateHistoryRepository).save(argThat(history -> history.getPreviousStatus() == OrderStatus.CREATED
+            && history.getNewStatus() == OrderStatus.CONFIRMED));
+        verify(eventPublisher).publishEvent(any(OrderConfirmedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Transicionar una orden inexistente lanza EntityNotFoundException")
+    void shouldThrowWhenTransitioningMissingOrder() {
+        // Given
+        when(orderRepository.findStatusById(999L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> orderService.confirmOrder(999L));
+        verify(orderRepository, never()).updateStatusIfCurrent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Cancelar una orden ya cancelada no ejecuta UPDATE ni emite evento")
+    void shouldNotUpdateOrderAlreadyInTargetState() {
+        // Given
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.CANCELLED));
+        stubOrderView(OrderStatus.CANCELLED);
+
+        // When
+        orderService.cancelOrder(1L);
+
+        // Then
+        verify(orderRepository, never()).updateStatusIfCurrent(any(), any(), any());
+        verifyNoInteractions(stateHistoryRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Una transición inválida lanza la excepción de la entidad sin ejecutar UPDATE")
+    void shouldRejectInvalidTransitionWithoutUpdate() {
+        // Given
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PAID));
+
+        // When/Then
+        assertThrows(InvalidStateTransitionException.class, () -> orderService.cancelOrder(1L));
+        verify(orderRepository, never()).updateStatusIfCurrent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Si otra transición cambia el estado entre la lectura y el UPDATE, la transición falla por concurrencia")
+    void shouldFailWhenStateChangesConcurrently() {
+        // Given
+        when(orderRepository.findStatusById(1L))
+            .thenReturn(Optional.of(OrderStatus.CONFIRMED))
+            .thenReturn(Optional.of(OrderStatus.PAID));
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CONFIRMED, OrderStatus.CANCELLED)).thenReturn(0);
+
+        // When/Then
+        assertThrows(ConcurrencyFailureException.class, () -> orderService.cancelOrder(1L));
+        verifyNoInteractions(stateHistoryRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Si una transición concurrente al mismo estado gana la carrera, la operación es idempotente")
+    void shouldBeIdempotentWhenConcurrentTransitionReachesTarget() {
+        // Given
+        when(orderRepository.findStatusById(1L))
+            .thenReturn(Optional.of(OrderStatus.CREATED))
+            .thenReturn(Optional.of(OrderStatus.CONFIRMED));
+        when(orderRepository.updateStatusIfCurrent(1L, OrderStatus.CREATED, OrderStatus.CONFIRMED)).thenReturn(0);
+        stubOrderView(OrderStatus.CONFIRMED);
+
+        // When
+        orderService.confirmOrder(1L);
+
+        // Then
+        verifyNoInteractions(stateHistoryRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Un tamaño de bloque de la creación por lotes menor a 1 se rechaza al iniciar")
+    void shouldRejectNonPositiveBatchChunkSize() {
+        ReflectionTestUtils.setField(orderService, "batchChunkSize", 0);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.validateConfiguration());
+    }
+
+    private Order order(Long id, OrderStatus status) {
+        return Order.builder()
+            .id(id)
+            .customer(customer)
+            .status(status)
+            .totalAmount(BigDecimal.valueOf(100.00))
+            .items(new ArrayList<>())
+            .build();
+    }
+
+    private void stubOrderView(OrderStatus status) {
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(new OrderView(1L, 1L, "Cliente Test",
+            "cliente@test.com", BigDecimal.valueOf(100.00), BigDecimal.ZERO, status, LocalDateTime.now())));
+        when(orderRepository.findItemViewsByOrderId(1L)).thenReturn(List.of());
+    }
+}
@@ -1,8 +1,14 @@
 package com.ordersystem.application.service;
 
 import com.ordersystem.api.dto.request.CreatePaymentRequest;
+import com.ordersystem.api.dto.request.PaymentSettlementEntryRequest;
+import com.ordersystem.api.dto.request.PaymentSettlementRequest;
+import com.ordersystem.api.dto.response.OrderPaymentSummaryResponse;
+import com.ordersystem.api.dto.response.OrderResponse;
+import com.ordersystem.api.dto.response.PaymentResponse;
 import com.ordersystem.domain.enums.OrderStatus;
 import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.event.PaymentFailedEvent;
 import com.ordersystem.domain.exception.BusinessRuleException;
 import com.ordersystem.domain.exception.EntityNotFoundException;
 import com.ordersystem.domain.model.Customer;
@@ -10,21 +16,37 @@ import com.ordersystem.domain.model.Order;
 import com.ordersystem.domain.model.Payment;
 import com.ordersystem.domain.repository.OrderRepository;
 import com.ordersystem.domain.repository.PaymentRepository;
+import com.ordersystem.domain.repository.PaymentTransactionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +60,9 @@ class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentTransactionRepository transactionRepository;
+
     @Mock
     private OrderRepository orderRepository;
 
@@ -47,6 +72,15 @@ class PaymentServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private TerminalOrderCache terminalOrderCache;
+
+    @Spy
+    private OrderLocks orderLocks = new OrderLocks(16, 1000);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -56,6 +90,9 @@ class PaymentServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         customer = Customer.builder()
             .id(1L)
             .name("Cliente Test")
@@ -100,13 +137,7 @@ class PaymentServiceTest {
         when(orderRepository.findByIdWithItems(1L)).thenReturn(Optional.of(order));
         
         // Simular un pago aprobado previo de 50.00
-        Payment existingPayment = Payment.builder()
-            .id(2L)
-            .order(order)
-            .amount(BigDecimal.valueOf(50.00))
-            .status(PaymentStatus.APPROVED)
-            .build();
-        when(paymentRepository.findByOrderId(1L)).thenReturn(java.util.List.of(existingPayment));
+        order.registerApprovedPayment(BigDecimal.valueOf(50.00));
         
         CreatePaymentRequest request = new CreatePaymentRequest(1L, BigDecimal.valueOf(60.00)); // Excede pendiente
 
@@ -119,6 +150,7 @@ class PaymentServiceTest {
     @DisplayName("Un pago fallido no cambia el estado de la orden")
     void shouldNotChangeOrderStatusWhenPaymentFails() {
         // Given
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
         when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
 
@@ -137,7 +169,6 @@ class PaymentServiceTest {
         // Given
         order.setStatus(OrderStatus.CONFIRMED);
         when(orderRepository.findByIdWithItems(1L)).thenReturn(Optional.of(order));
-        when(paymentRepository.findByOrderId(1L)).thenReturn(new ArrayList<>());
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         CreatePaymentRequest request = new CreatePaymentRequest(1L, BigDecimal.valueOf(100.00));
 
@@ -155,8 +186,8 @@ class PaymentServiceTest {
     void shouldMarkOrderAsPaidWhenPaymentApprovedAndTotalReached() {
         // Given
         payment.setStatus(PaymentStatus.PENDING);
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
         when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
-        when(paymentRepository.findByOrderId(1L)).thenReturn(java.util.List.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
 
         // When
@@ -165,18 +196,201 @@ class PaymentServiceTest {
         // Then
         verify(orderService).markOrderAsPaidInternal(1L);
         verify(eventPublisher).publishEvent(any());
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(order.getPaidAmount()),
+            "El acumulado pagado de la orden debería incluir el pago aprobado");
+    }
+
+    @Test
+    @DisplayName("Al aprobar un pago parcial, la orden no se marca como pagada")
+    void shouldNotMarkOrderAsPaidWhenPartialPaymentApproved() {
+        // Given
+        payment.setAmount(BigDecimal.valueOf(40.00));
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
+        when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+
+        // When
+        paymentService.approvePayment(1L);
+
+        // Then
+        verify(orderService, never()).markOrderAsPaidInternal(any());
+        assertEquals(0, BigDecimal.valueOf(60.00).compareTo(order.getPendingAmount()),
+            "El monto pendiente debería descontar el pago parcial aprobado");
     }
 
     @Test
     @DisplayName("Lanzar excepción cuando el pago no existe")
     void shouldThrowExceptionWhenPaymentNotFound() {
         // Given
-        when(paymentRepository.findByIdWithTransactions(999L)).thenReturn(Optional.empty());
+        when(paymentRepository.findOrderIdById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThrows(EntityNotFoundException.class, () -> paymentService.approvePayment(999L),
             "Debería lanzar excepción cuando el pago no existe");
     }
-}
 
+    @Test
+    @DisplayName("No se puede aprobar un pago que excede el pendiente de la orden")
+    void shouldNotApprovePaymentExceedingPendingAmount() {
+        // Given: otro pago de la orden ya fue aprobado después de crear este
+        order.registerApprovedPayment(BigDecimal.valueOf(50.00));
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
+        when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
+
+        // When/Then
+        assertThrows(BusinessRuleException.class, () -> paymentService.approvePayment(1L));
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        assertEquals(0, BigDecimal.valueOf(50.00).compareTo(order.getPaidAmount()));
+    }
+
+    @Test
+    @DisplayName("La aprobación se reintenta en una nueva transacción ante un conflicto de versión")
+    void shouldRetryApprovalOnOptimisticLockConflict() {
+        // Given
+        ReflectionTestUtils.setField(paymentService, "maxAttempts", 3);
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
+        when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+            .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+            .when(transactionTemplate).execute(any());
+
+        // When
+        paymentService.approvePayment(1L);
+
+        // Then
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        verify(orderLocks).withLocks(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("El rechazo toma el lock de la orden y se reintenta ante un conflicto de versión")
+    void shouldRetryRejectionOnOptimisticLockConflict() {
+        // Given
+        ReflectionTestUtils.setField(paymentService, "maxAttempts", 3);
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
+        when(paymentRepository.findByIdWithTransactions(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        doThrow(new ObjectOptimisticLockingFailureException(Payment.class, 1L))
+            .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+            .when(transactionTemplate).execute(any());
+
+        // When
+        paymentService.rejectPayment(1L);
 
+        // Then
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(PaymentStatus.REJECTED, payment.getStatus());
+        verify(orderLocks).withLocks(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("Marcar un pago como fallido toma el lock de la orden y agota los reintentos ante conflictos")
+    void shouldGiveUpFailingPaymentAfterMaxAttempts() {
+        // Given
+        ReflectionTestUtils.setField(paymentService, "maxAttempts", 2);
+        when(paymentRepository.findOrderIdById(1L)).thenReturn(Optional.of(1L));
+        doThrow(new ObjectOptimisticLockingFailureException(Payment.class, 1L))
+            .when(transactionTemplate).execute(any());
+
+        // When/Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> paymentService.markPaymentAsFailed(1L));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(orderLocks).withLocks(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("El vencimiento vuelve a filtrar por estado y antigüedad bajo el lock y emite un PaymentFailedEvent por pago")
+    void shouldExpireOnlyPaymentsStillPendingUnderLock() {
+        // Given: el pago 2 se aprobó entre el barrido y la toma del lock, por lo que la relectura lo descarta
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(30);
+        when(paymentRepository.findOrderIdsByIdIn(List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(paymentRepository.findAllByIdInAndStatusCreatedBefore(List.of(1L, 2L), PaymentStatus.PENDING, cutoff))
+            .thenReturn(List.of(payment));
+
+        // When
+        int expired = paymentService.expirePendingPayments(List.of(1L, 2L), cutoff);
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        InOrder inOrder = inOrder(orderLocks, transactionTemplate, paymentRepository);
+        inOrder.verify(orderLocks).withLocks(eq(List.of(1L)), any());
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(paymentRepository).findAllByIdInAndStatusCreatedBefore(List.of(1L, 2L), PaymentStatus.PENDING, cutoff);
+        ArgumentCaptor<PaymentFailedEvent> event = ArgumentCaptor.forClass(PaymentFailedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getPaymentId());
+        assertEquals(1L, event.getValue().getOrderId());
+        verify(terminalOrderCache).evict(1L);
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+    }
+
+    @Test
+    @DisplayName("Una liquidación aplica cada pago, marca la orden como pagada y reporta los errores por pago")
+    void shouldSettlePaymentsAndMarkOrderAsPaid() {
+        // Given
+        payment.setAmount(BigDecimal.valueOf(60.00));
+        Payment secondPayment = Payment.builder()
+            .id(2L)
+            .order(order)
+            .amount(BigDecimal.valueOf(40.00))
+            .status(PaymentStatus.PENDING)
+            .transactions(new ArrayList<>())
+            .build();
+        when(paymentRepository.findAllByIdInWithTransactionsAndOrder(any()))
+            .thenReturn(List.of(payment, secondPayment));
+
+        // When
+        var result = paymentService.settlePayments(List.of(
+            new PaymentSettlementEntryRequest(1L, PaymentStatus.APPROVED),
+            new PaymentSettlementEntryRequest(2L, PaymentStatus.APPROVED),
+            new PaymentSettlementEntryRequest(999L, PaymentStatus.APPROVED)
+        ));
+
+        // Then
+        assertEquals(2, result.getApplied());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getOrdersPaid());
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(order.getPaidAmount()));
+        verify(eventPublisher, times(3)).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    @DisplayName("Una liquidación con pagos nulos no pasa la validación y no llega al servicio")
+    void shouldRejectSettlementWithNullEntries() {
+        // Given
+        PaymentSettlementRequest request = new PaymentSettlementRequest(Arrays.asList(
+            new PaymentSettlementEntryRequest(1L, PaymentStatus.APPROVED),
+            null
+        ));
+
+        // When
+        Set<ConstraintViolation<PaymentSettlementRequest>> violations =
+            Validation.buildDefaultValidatorFactory().getValidator().validate(request);
+
+        // Then
+        assertEquals(1, violations.size());
+        assertEquals("entries[1].<list element>", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    @DisplayName("El resumen de una orden terminal en caché se sirve sin abrir transacción ni consultar la base de datos")
+    void shouldServeCachedSummaryWithoutTransaction() {
+        // Given
+        OrderPaymentSummaryResponse cached = OrderPaymentSummaryResponse.builder()
+            .order(OrderResponse.builder().id(1L).status(OrderStatus.SHIPPED).build())
+            .payments(new ArrayList<>(List.of(PaymentResponse.builder().id(1L).transactions(new ArrayList<>()).build())))
+            .build();
+        when(terminalOrderCache.getSummary(1L)).thenReturn(Optional.of(cached));
+
+        // When
+        OrderPaymentSummaryResponse summary = paymentService.getOrderPaymentSummary(1L, true);
+
+        // Then
+        assertNull(summary.getPayments().get(0).getTransactions());
+        verifyNoInteractions(orderRepository, paymentRepository, transactionTemplate);
+    }
+}
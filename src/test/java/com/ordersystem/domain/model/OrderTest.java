@@ -214,6 +214,28 @@ class OrderTest {
         assertEquals(OrderStatus.PAID, order.getStateHistory().get(2).getPreviousStatus());
         assertEquals(OrderStatus.SHIPPED, order.getStateHistory().get(2).getNewStatus());
     }
-}
 
+    @Test
+    @DisplayName("Los pagos aprobados se acumulan y descuentan del monto pendiente")
+    void shouldAccumulateApprovedPayments() {
+        // When
+        order.registerApprovedPayment(BigDecimal.valueOf(30.00));
+        order.registerApprovedPayment(BigDecimal.valueOf(20.00));
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(50.00).compareTo(order.getPaidAmount()));
+        assertEquals(0, BigDecimal.valueOf(50.00).compareTo(order.getPendingAmount()));
+        assertFalse(order.isFullyPaid());
+    }
+
+    @Test
+    @DisplayName("La orden queda cubierta cuando los pagos aprobados alcanzan el total")
+    void shouldBeFullyPaidWhenApprovedPaymentsReachTotal() {
+        // When
+        order.registerApprovedPayment(BigDecimal.valueOf(100.00));
 
+        // Then
+        assertTrue(order.isFullyPaid());
+        assertEquals(0, BigDecimal.ZERO.compareTo(order.getPendingAmount()));
+    }
+}
@@ -120,6 +120,30 @@ class PaymentTest {
         assertEquals(PaymentStatus.FAILED, payment.getTransactions().get(0).getNewStatus());
     }
 
+    @Test
+    @DisplayName("Un pago PENDING vencido pasa a FAILED con una nota de vencimiento")
+    void shouldExpirePendingPayment() {
+        // When
+        payment.expire();
+
+        // Then
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(1, payment.getTransactions().size());
+        assertEquals(PaymentStatus.PENDING, payment.getTransactions().get(0).getPreviousStatus());
+        assertEquals("Pago vencido sin respuesta de la pasarela", payment.getTransactions().get(0).getNotes());
+    }
+
+    @Test
+    @DisplayName("No puede vencer un pago que ya salió de PENDING")
+    void shouldNotExpireNonPendingPayment() {
+        // Given
+        payment.setStatus(PaymentStatus.APPROVED);
+
+        // When/Then
+        assertThrows(InvalidStateTransitionException.class, () -> payment.expire());
+        assertTrue(payment.getTransactions().isEmpty());
+    }
+
     @Test
     @DisplayName("Aprobar un pago ya aprobado es idempotente")
     void shouldBeIdempotentWhenApprovingAlreadyApprovedPayment() {
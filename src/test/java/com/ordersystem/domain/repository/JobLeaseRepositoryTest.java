@@ -0,0 +1,55 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.model.JobLease;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de las consultas de leases contra H2
+ */
+@DataJpaTest
+@DisplayName("Tests de consultas - JobLeaseRepository")
+class JobLeaseRepositoryTest {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Si dos nodos crean el mismo lease, la clave primaria rechaza al segundo y el primero lo conserva")
+    void shouldRejectSecondInsertOfSameLease() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        jobLeaseRepository.insert("job", "nodo-a", now, now.plusSeconds(30));
+
+        // When/Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> jobLeaseRepository.insert("job", "nodo-b", now, now.plusSeconds(30)));
+        entityManager.clear();
+        assertEquals("nodo-a", jobLeaseRepository.findById("job").map(JobLease::getOwner).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Un lease vigente de otro nodo no se toma; uno vencido sí")
+    void shouldAcquireOnlyExpiredLeaseOfAnotherNode() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        jobLeaseRepository.insert("vigente", "nodo-a", now, now.plusSeconds(30));
+        jobLeaseRepository.insert("vencido", "nodo-a", now.minusMinutes(1), now.minusSeconds(1));
+
+        // When/Then
+        assertEquals(0, jobLeaseRepository.acquireIfAvailable("vigente", "nodo-b", now, now.plusSeconds(30)));
+        assertEquals(1, jobLeaseRepository.acquireIfAvailable("vencido", "nodo-b", now, now.plusSeconds(30)));
+        assertEquals(1, jobLeaseRepository.acquireIfAvailable("vigente", "nodo-a", now, now.plusSeconds(60)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.model.Payment;
+import com.ordersystem.domain.repository.projection.OrderStatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de las consultas de órdenes contra H2
+ */
+@DataJpaTest
+@DisplayName("Tests de consultas - OrderRepository")
+class OrderRepositoryTest {
+
+    private static final Set<OrderStatus> STALE_STATUSES = EnumSet.of(OrderStatus.CREATED, OrderStatus.CONFIRMED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(Customer.builder()
+            .name("Cliente Test")
+            .email("cliente@test.com")
+            .build());
+    }
+
+    @Test
+    @DisplayName("El barrido de órdenes abandonadas omite las que tienen pagos aprobados o PENDING")
+    void shouldSkipOrdersWithPaymentsInStaleScan() {
+        // Given
+        Order abandoned = persistOrder(OrderStatus.CONFIRMED, BigDecimal.ZERO);
+        Order partiallyPaid = persistOrder(OrderStatus.CONFIRMED, BigDecimal.valueOf(40));
+        Order withPendingPayment = persistOrder(OrderStatus.CONFIRMED, BigDecimal.ZERO);
+        persistPayment(withPendingPayment, PaymentStatus.PENDING);
+        Order withFailedPayment = persistOrder(OrderStatus.CREATED, BigDecimal.ZERO);
+        persistPayment(withFailedPayment, PaymentStatus.FAILED);
+        persistOrder(OrderStatus.PAID, BigDecimal.ZERO);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        // When
+        List<Long> ids = orderRepository.findIdsByStatusInCreatedBefore(STALE_STATUSES, cutoff, 0L, Limit.of(10));
+        List<Order> orders = orderRepository.findAllByIdInAndStatusInCreatedBefore(
+            List.of(abandoned.getId(), partiallyPaid.getId(), withPendingPayment.getId(), withFailedPayment.getId()),
+            STALE_STATUSES, cutoff);
+        List<OrderStatusCount> counts = orderRepository.countByStatusInCreatedBefore(STALE_STATUSES, cutoff);
+
+        // Then
+        assertEquals(List.of(abandoned.getId(), withFailedPayment.getId()), ids);
+        assertEquals(Set.of(abandoned.getId(), withFailedPayment.getId()),
+            Set.copyOf(orders.stream().map(Order::getId).toList()));
+        assertEquals(Set.of(new OrderStatusCount(OrderStatus.CONFIRMED, 1L), new OrderStatusCount(OrderStatus.CREATED, 1L)),
+            Set.copyOf(counts));
+    }
+
+    @Test
+    @DisplayName("El barrido de órdenes abandonadas respeta la antigüedad y el cursor")
+    void shouldApplyCutoffAndCursorInStaleScan() {
+        // Given
+        Order first = persistOrder(OrderStatus.CREATED, BigDecimal.ZERO);
+        Order second = persistOrder(OrderStatus.CREATED, BigDecimal.ZERO);
+        entityManager.flush();
+
+        // When/Then
+        assertEquals(List.of(second.getId()), orderRepository.findIdsByStatusInCreatedBefore(
+            STALE_STATUSES, LocalDateTime.now().plusMinutes(1), first.getId(), Limit.of(10)));
+        assertTrue(orderRepository.findIdsByStatusInCreatedBefore(
+            STALE_STATUSES, LocalDateTime.now().minusHours(1), 0L, Limit.of(10)).isEmpty());
+    }
+
+    private Order persistOrder(OrderStatus status, BigDecimal paidAmount) {
+        return entityManager.persist(Order.builder()
+            .customer(customer)
+            .status(status)
+            .totalAmount(BigDecimal.valueOf(100))
+            .paidAmount(paidAmount)
+            .build());
+    }
+
+    private void persistPayment(Order order, PaymentStatus status) {
+        entityManager.persist(Payment.builder()
+            .order(order)
+            .amount(BigDecimal.valueOf(10))
+            .status(status)
+            .build());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.model.OrderStateHistory;
+import com.ordersystem.domain.repository.projection.OrderStateHistoryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la paginación por cursor del historial de estados contra H2
+ */
+@DataJpaTest
+@DisplayName("Tests de consultas - OrderStateHistoryRepository")
+class OrderStateHistoryRepositoryTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 10, 10, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(1);
+    private static final LocalDateTime T3 = T1.plusMinutes(2);
+
+    @Autowired
+    private OrderStateHistoryRepository stateHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = entityManager.persist(Customer.builder()
+            .name("Cliente Test")
+            .email("cliente@test.com")
+            .build());
+        order = persistOrder(customer);
+    }
+
+    @Test
+    @DisplayName("La página siguiente usa el timestamp de la entrada del cursor y desempata por ID")
+    void shouldResolveCursorTimestampFromCursorRow() {
+        // Given: los IDs crecen en orden de inserción, pero el orden del historial es (timestamp, id)
+        OrderStateHistory confirmed = persistEntry(order, T2);
+        OrderStateHistory created = persistEntry(order, T1);
+        OrderStateHistory sameTimestamp = persistEntry(order, T2);
+        OrderStateHistory shipped = persistEntry(order, T3);
+        entityManager.flush();
+        Long orderId = order.getId();
+
+        // When/Then
+        assertEquals(List.of(created.getId(), confirmed.getId(), sameTimestamp.getId(), shipped.getId()),
+            ids(stateHistoryRepository.findByOrderIdOrderByTimestampAsc(orderId, Limit.of(10))));
+        assertEquals(List.of(confirmed.getId(), sameTimestamp.getId(), shipped.getId()),
+            ids(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(orderId, created.getId(), Limit.of(10))));
+        assertEquals(List.of(sameTimestamp.getId(), shipped.getId()),
+            ids(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(orderId, confirmed.getId(), Limit.of(10))));
+        assertEquals(List.of(sameTimestamp.getId()),
+            ids(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(orderId, confirmed.getId(), Limit.of(1))));
+        assertTrue(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(orderId, shipped.getId(), Limit.of(10))
+            .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un cursor de otra orden o inexistente devuelve una página vacía")
+    void shouldReturnEmptyPageForForeignOrUnknownCursor() {
+        // Given
+        Order other = persistOrder(order.getCustomer());
+        OrderStateHistory foreign = persistEntry(other, T1);
+        persistEntry(order, T2);
+        entityManager.flush();
+
+        // When/Then
+        assertTrue(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(
+            order.getId(), foreign.getId(), Limit.of(10)).isEmpty());
+        assertTrue(stateHistoryRepository.findByOrderIdAfterOrderByTimestampAsc(
+            order.getId(), Long.MAX_VALUE, Limit.of(10)).isEmpty());
+    }
+
+    private Order persistOrder(Customer customer) {
+        return entityManager.persist(Order.builder()
+            .customer(customer)
+            .status(OrderStatus.CREATED)
+            .totalAmount(BigDecimal.valueOf(100))
+            .build());
+    }
+
+    private OrderStateHistory persistEntry(Order target, LocalDateTime timestamp) {
+        return entityManager.persist(OrderStateHistory.builder()
+            .order(target)
+            .previousStatus(OrderStatus.CREATED)
+            .newStatus(OrderStatus.CONFIRMED)
+            .timestamp(timestamp)
+            .build());
+    }
+
+    private static List<Long> ids(List<OrderStateHistoryView> entries) {
+        return entries.stream().map(OrderStateHistoryView::id).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.model.OutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del checkpoint del relay del outbox contra H2
+ */
+@DataJpaTest
+@DisplayName("Tests de consultas - OutboxEventRepository")
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("El checkpoint marca los despachados como procesados y los fallidos quedan pendientes con su error")
+    void shouldMarkDispatchedAndFailedEvents() {
+        // Given
+        OutboxEvent dispatched = persistEvent();
+        OutboxEvent failed = persistEvent();
+        OutboxEvent untouched = persistEvent();
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        outboxEventRepository.markDispatched(List.of(dispatched.getId()), now);
+        outboxEventRepository.markFailed(failed.getId(), "listener caído");
+        entityManager.clear();
+
+        // Then
+        OutboxEvent processed = entityManager.find(OutboxEvent.class, dispatched.getId());
+        assertNotNull(processed.getProcessedAt());
+        assertEquals(1, processed.getAttempts());
+        OutboxEvent retried = entityManager.find(OutboxEvent.class, failed.getId());
+        assertNull(retried.getProcessedAt());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("listener caído", retried.getLastError());
+        assertEquals(List.of(failed.getId(), untouched.getId()),
+            outboxEventRepository.findPending(10, 0L, Limit.of(10)).stream().map(OutboxEvent::getId).toList());
+        assertTrue(outboxEventRepository.findPending(1, 0L, Limit.of(10)).stream()
+            .noneMatch(event -> event.getId().equals(failed.getId())));
+    }
+
+    private OutboxEvent persistEvent() {
+        return entityManager.persist(OutboxEvent.builder()
+            .eventType("OrderConfirmedEvent")
+            .aggregateId(1L)
+            .payload("{}")
+            .build());
+    }
+}
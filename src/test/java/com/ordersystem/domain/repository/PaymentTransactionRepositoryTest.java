@@ -0,0 +1,113 @@
+package com.ordersystem.domain.repository;
+
+import com.ordersystem.domain.enums.OrderStatus;
+import com.ordersystem.domain.enums.PaymentStatus;
+import com.ordersystem.domain.model.Customer;
+import com.ordersystem.domain.model.Order;
+import com.ordersystem.domain.model.Payment;
+import com.ordersystem.domain.model.PaymentTransaction;
+import com.ordersystem.domain.repository.projection.PaymentTransactionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la paginación por cursor de las transacciones de pagos contra H2
+ */
+@DataJpaTest
+@DisplayName("Tests de consultas - PaymentTransactionRepository")
+class PaymentTransactionRepositoryTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 10, 10, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(1);
+    private static final LocalDateTime T3 = T1.plusMinutes(2);
+
+    @Autowired
+    private PaymentTransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Order order;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = entityManager.persist(Customer.builder()
+            .name("Cliente Test")
+            .email("cliente@test.com")
+            .build());
+        order = entityManager.persist(Order.builder()
+            .customer(customer)
+            .status(OrderStatus.CONFIRMED)
+            .totalAmount(BigDecimal.valueOf(100))
+            .build());
+        payment = persistPayment();
+    }
+
+    @Test
+    @DisplayName("La página siguiente usa el timestamp de la transacción del cursor y desempata por ID")
+    void shouldResolveCursorTimestampFromCursorRow() {
+        // Given: los IDs crecen en orden de inserción, pero el orden de las transacciones es (timestamp, id)
+        PaymentTransaction approved = persistTransaction(payment, T2);
+        PaymentTransaction created = persistTransaction(payment, T1);
+        PaymentTransaction sameTimestamp = persistTransaction(payment, T2);
+        PaymentTransaction last = persistTransaction(payment, T3);
+        entityManager.flush();
+
+        // When/Then
+        assertEquals(List.of(created.getId(), approved.getId(), sameTimestamp.getId(), last.getId()),
+            ids(transactionRepository.findByPaymentId(payment.getId(), Limit.of(10))));
+        assertEquals(List.of(approved.getId(), sameTimestamp.getId(), last.getId()),
+            ids(transactionRepository.findByPaymentIdAfter(payment.getId(), created.getId(), Limit.of(10))));
+        assertEquals(List.of(sameTimestamp.getId(), last.getId()),
+            ids(transactionRepository.findByPaymentIdAfter(payment.getId(), approved.getId(), Limit.of(10))));
+        assertEquals(List.of(sameTimestamp.getId()),
+            ids(transactionRepository.findByPaymentIdAfter(payment.getId(), approved.getId(), Limit.of(1))));
+        assertTrue(transactionRepository.findByPaymentIdAfter(payment.getId(), last.getId(), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un cursor de otro pago o inexistente devuelve una página vacía")
+    void shouldReturnEmptyPageForForeignOrUnknownCursor() {
+        // Given
+        PaymentTransaction foreign = persistTransaction(persistPayment(), T1);
+        persistTransaction(payment, T2);
+        entityManager.flush();
+
+        // When/Then
+        assertTrue(transactionRepository.findByPaymentIdAfter(payment.getId(), foreign.getId(), Limit.of(10)).isEmpty());
+        assertTrue(transactionRepository.findByPaymentIdAfter(payment.getId(), Long.MAX_VALUE, Limit.of(10)).isEmpty());
+    }
+
+    private Payment persistPayment() {
+        return entityManager.persist(Payment.builder()
+            .order(order)
+            .amount(BigDecimal.valueOf(10))
+            .status(PaymentStatus.PENDING)
+            .build());
+    }
+
+    private PaymentTransaction persistTransaction(Payment target, LocalDateTime timestamp) {
+        return entityManager.persist(PaymentTransaction.builder()
+            .payment(target)
+            .previousStatus(PaymentStatus.PENDING)
+            .newStatus(PaymentStatus.APPROVED)
+            .timestamp(timestamp)
+            .build());
+    }
+
+    private static List<Long> ids(List<PaymentTransactionView> transactions) {
+        return transactions.stream().map(PaymentTransactionView::id).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ordersystem.infrastructure.scheduling;
+
+import com.ordersystem.domain.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de los leases de trabajos programados
+ */
+@DisplayName("Tests de leases de trabajos - JobLeaseManager")
+class JobLeaseManagerTest {
+
+    private final JobLeaseRepository jobLeaseRepository = mock(JobLeaseRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JobLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        leaseManager = new JobLeaseManager(jobLeaseRepository, mock(PlatformTransactionManager.class), meterRegistry,
+            true, "nodo-a", 30_000, 10_000);
+    }
+
+    @Test
+    @DisplayName("La primera ejecución en el cluster crea el lease y las siguientes no vuelven a la base de datos")
+    void shouldCreateLeaseOnFirstRunAndKeepItBetweenRuns() {
+        // Given
+        when(jobLeaseRepository.acquireIfAvailable(eq("job"), eq("nodo-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("job")).thenReturn(false);
+
+        // When
+        boolean first = leaseManager.tryAcquire("job");
+        boolean second = leaseManager.tryAcquire("job");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(jobLeaseRepository).insert(eq("job"), eq("nodo-a"), any(), any());
+        verify(jobLeaseRepository, times(1)).acquireIfAvailable(anyString(), anyString(), any(), any());
+        assertEquals(1.0, meterRegistry.get("ordersystem.jobs.lease.owned").tag("job", "job").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Un lease vigente de otro nodo impide ejecutar y el reintento espera al intervalo de renovación")
+    void shouldSkipWhileAnotherNodeHoldsTheLease() {
+        // Given
+        when(jobLeaseRepository.acquireIfAvailable(eq("job"), eq("nodo-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("job")).thenReturn(true);
+
+        // When
+        boolean first = leaseManager.tryAcquire("job");
+        boolean second = leaseManager.tryAcquire("job");
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(jobLeaseRepository, times(1)).acquireIfAvailable(anyString(), anyString(), any(), any());
+        verify(jobLeaseRepository, never()).insert(anyString(), anyString(), any(), any());
+        assertEquals(0.0, meterRegistry.get("ordersystem.jobs.lease.owned").tag("job", "job").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Si otro nodo crea el lease a la vez, la clave primaria decide y este nodo no ejecuta")
+    void shouldLoseInsertRaceOnPrimaryKeyViolation() {
+        // Given
+        when(jobLeaseRepository.acquireIfAvailable(eq("job"), eq("nodo-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("job")).thenReturn(false);
+        when(jobLeaseRepository.insert(eq("job"), eq("nodo-a"), any(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        // When/Then
+        assertFalse(leaseManager.tryAcquire("job"));
+    }
+
+    @Test
+    @DisplayName("Un lease que otro nodo tomó se da por perdido al renovar")
+    void shouldDropLeaseTakenByAnotherNodeOnRenewal() {
+        // Given
+        when(jobLeaseRepository.acquireIfAvailable(eq("job"), eq("nodo-a"), any(), any())).thenReturn(1);
+        assertTrue(leaseManager.tryAcquire("job"));
+        when(jobLeaseRepository.renew(eq("job"), eq("nodo-a"), any())).thenReturn(0);
+
+        // When
+        leaseManager.renewAll();
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("ordersystem.jobs.lease.owned").tag("job", "job").gauge().value());
+        assertEquals(1.0, meterRegistry.get("ordersystem.jobs.lease.changes")
+            .tag("job", "job").tag("event", "lost").counter().count());
+    }
+
+    @Test
+    @DisplayName("Con los leases deshabilitados todo trabajo se ejecuta sin consultar la base de datos")
+    void shouldAlwaysRunWhenDisabled() {
+        // Given
+        JobLeaseManager disabled = new JobLeaseManager(jobLeaseRepository, mock(PlatformTransactionManager.class),
+            meterRegistry, false, "nodo-a", 30_000, 10_000);
+
+        // When/Then
+        assertTrue(disabled.tryAcquire("job"));
+        verifyNoInteractions(jobLeaseRepository);
+    }
+}